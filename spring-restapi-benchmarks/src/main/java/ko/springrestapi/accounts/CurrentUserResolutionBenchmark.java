@@ -0,0 +1,89 @@
+package ko.springrestapi.accounts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러의 Account 파라미터 하나를 만드는 비용.
+ * 예전 @CurrentUser 가 쓰던 @AuthenticationPrincipal(expression = ...) 은 호출마다 SpEL 을 파싱하고 평가하고,
+ * CurrentUserArgumentResolver 는 SecurityContext 의 principal 을 바로 꺼낸다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurrentUserResolutionBenchmark {
+
+    private AuthenticationPrincipalArgumentResolver expressionResolver;
+    private CurrentUserArgumentResolver currentUserResolver;
+    private MethodParameter expressionParameter;
+    private MethodParameter currentUserParameter;
+    private NativeWebRequest webRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        expressionResolver = new AuthenticationPrincipalArgumentResolver();
+        currentUserResolver = new CurrentUserArgumentResolver();
+        expressionParameter = new MethodParameter(
+                Handlers.class.getDeclaredMethod("expression", Account.class), 0);
+        currentUserParameter = new MethodParameter(
+                Handlers.class.getDeclaredMethod("currentUser", Account.class), 0);
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/events"));
+
+        Account account = Account.builder()
+                .id(1)
+                .email("user@email.com")
+                .password("{bcrypt}hash")
+                .roles(Set.of(AccountRole.USER))
+                .build();
+        AccountAdapter principal = new AccountAdapter(account);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "N/A", principal.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object expression() throws Exception {
+        return expressionResolver.resolveArgument(expressionParameter, null, webRequest, null);
+    }
+
+    @Benchmark
+    public Object currentUser() {
+        return currentUserResolver.resolveArgument(currentUserParameter, null, webRequest, null);
+    }
+
+    static class Handlers {
+
+        void expression(@AuthenticationPrincipal(expression = "#this =='anonymousUser' ? null : account") Account account) {
+        }
+
+        void currentUser(@CurrentUser Account account) {
+        }
+    }
+}
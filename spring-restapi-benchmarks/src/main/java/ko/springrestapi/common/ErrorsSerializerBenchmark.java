@@ -0,0 +1,59 @@
+package ko.springrestapi.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import ko.springrestapi.events.EventDto;
+import ko.springrestapi.events.EventValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 400 응답 본문: EventValidator 가 채운 Errors 를 ErrorsSerializer 로 쓴다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorsSerializerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Errors errors;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new SimpleModule().addSerializer(Errors.class, new ErrorsSerializer()));
+
+        EventDto eventDto = EventDto.builder()
+                .name("Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .endEventDateTime(LocalDateTime.of(2020, 10, 29, 17, 58))
+                .basePrice(20000)
+                .maxPrice(200)
+                .build();
+        errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        new EventValidator().validate(eventDto, errors);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(errors);
+    }
+}
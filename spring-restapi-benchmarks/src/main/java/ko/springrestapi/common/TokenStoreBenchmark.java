@@ -0,0 +1,119 @@
+package ko.springrestapi.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 스레드가 동시에 토큰을 발급하고 (DefaultTokenServices.createAccessToken 과 같은 호출 순서)
+ * 리소스 서버 쪽에서 토큰을 읽는 (readAccessToken + readAuthentication) 상황에서
+ * InMemoryTokenStore 와 ShardedTokenStore 를 비교한다.
+ * 발급하는 토큰은 2 초 뒤 만료되게 해서 두 저장소 모두 크기가 계속 커지지 않게 한다.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenStoreBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int LIVE_TOKENS = 10_000;
+
+    @Param({"in-memory", "sharded"})
+    private String store;
+
+    private TokenStore tokenStore;
+    private OAuth2Authentication[] authentications;
+    private String[] liveTokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenStore = "sharded".equals(store)
+                ? new ShardedTokenStore(16, 100_000)
+                : new InMemoryTokenStore();
+
+        authentications = new OAuth2Authentication[USERS];
+        for (int i = 0; i < USERS; i++) {
+            authentications[i] = authentication("user" + i + "@email.com");
+        }
+
+        liveTokens = new String[LIVE_TOKENS];
+        for (int i = 0; i < LIVE_TOKENS; i++) {
+            OAuth2AccessToken accessToken = accessToken(TimeUnit.HOURS.toMillis(1));
+            tokenStore.storeAccessToken(accessToken, authentication("live" + i + "@email.com"));
+            liveTokens[i] = accessToken.getValue();
+        }
+    }
+
+    @Benchmark
+    @Group("issueAndRead")
+    @GroupThreads(2)
+    public OAuth2AccessToken issue() {
+        OAuth2Authentication authentication = authentications[ThreadLocalRandom.current().nextInt(USERS)];
+        OAuth2AccessToken existing = tokenStore.getAccessToken(authentication);
+        if (existing != null && !existing.isExpired()) {
+            return existing;
+        }
+        if (existing != null) {
+            tokenStore.removeAccessToken(existing);
+        }
+        OAuth2AccessToken accessToken = accessToken(2_000);
+        tokenStore.storeAccessToken(accessToken, authentication);
+        tokenStore.storeRefreshToken(accessToken.getRefreshToken(), authentication);
+        return accessToken;
+    }
+
+    @Benchmark
+    @Group("issueAndRead")
+    @GroupThreads(6)
+    public OAuth2Authentication read() {
+        String value = liveTokens[ThreadLocalRandom.current().nextInt(LIVE_TOKENS)];
+        OAuth2AccessToken accessToken = tokenStore.readAccessToken(value);
+        return tokenStore.readAuthentication(accessToken);
+    }
+
+    private OAuth2AccessToken accessToken(long validityMillis) {
+        long now = System.currentTimeMillis();
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+        accessToken.setExpiration(new Date(now + validityMillis));
+        accessToken.setRefreshToken(new DefaultExpiringOAuth2RefreshToken(UUID.randomUUID().toString(),
+                new Date(now + validityMillis * 6)));
+        return accessToken;
+    }
+
+    private OAuth2Authentication authentication(String username) {
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", null, true, Set.of("read", "write"),
+                null, null, null, null);
+        return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(username, "N/A",
+                AuthorityUtils.createAuthorityList("ROLEUSER")));
+    }
+}
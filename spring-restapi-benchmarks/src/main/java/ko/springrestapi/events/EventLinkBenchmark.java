@@ -0,0 +1,94 @@
+package ko.springrestapi.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * 목록 한 페이지의 EventSummaryResource 를 만드는 비용 (링크 조립만, 직렬화 제외).
+ * linkToPerItem 은 예전처럼 항목마다 linkTo(EventController.class).slash(id) 를 부르고,
+ * requestLinks 는 RequestLinks 로 요청당 한 번 계산한 base URI 에 id 만 붙인다.
+ * 매 호출을 새 요청으로 치기 위해 두 벤치마크 모두 요청 속성을 새로 묶는다.
+ * 할당량은 -prof gc 로 본다. (java -jar target/benchmarks.jar EventLinkBenchmark -prof gc)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventLinkBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private MockHttpServletRequest request;
+    private List<EventSummary> content;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName("api.example.com");
+        request.setQueryString("page=0&size=" + pageSize + "&sort=id,ASC");
+
+        content = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(2020, 10, 30, 17, 58);
+            content.add(new EventSummary(i, 0L, "event " + i, "test event",
+                    dateTime, dateTime, dateTime, dateTime.plusDays(1),
+                    "삼육대학교", 100, 200, 100, false, true, EventStatus.DRAFT, 1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<EntityModel<EventSummary>> linkToPerItem() {
+        newRequest();
+        List<EntityModel<EventSummary>> resources = new ArrayList<>(content.size());
+        for (EventSummary summary : content) {
+            EntityModel<EventSummary> resource = EntityModel.of(summary);
+            resource.add(linkTo(EventController.class).slash(summary.getId()).withSelfRel());
+            resources.add(resource);
+        }
+        return resources;
+    }
+
+    @Benchmark
+    public List<EventSummaryResource> requestLinks() {
+        newRequest();
+        List<EventSummaryResource> resources = new ArrayList<>(content.size());
+        for (EventSummary summary : content) {
+            resources.add(new EventSummaryResource(summary));
+        }
+        return resources;
+    }
+
+    private void newRequest() {
+        request.clearAttributes();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,78 @@
+package ko.springrestapi.events;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventDto → Event 매핑: 컨트롤러가 쓰던 ModelMapper 경로와 EventMapper 비교.
+ * 할당량은 -prof gc 의 gc.alloc.rate.norm (B/op) 으로 본다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private EventMapper eventMapper;
+    private EventDto eventDto;
+    private Event existingEvent;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        eventMapper = new EventMapper();
+        eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .endEventDateTime(LocalDateTime.of(2020, 10, 31, 17, 58))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("삼육대학교")
+                .build();
+        existingEvent = eventMapper.toEvent(eventDto);
+        // 첫 호출에서 만들어지는 타입 맵 비용은 측정에서 뺀다
+        modelMapper.map(eventDto, Event.class);
+        modelMapper.map(eventDto, existingEvent);
+    }
+
+    @Benchmark
+    public Event createWithModelMapper() {
+        return modelMapper.map(eventDto, Event.class);
+    }
+
+    @Benchmark
+    public Event createWithEventMapper() {
+        return eventMapper.toEvent(eventDto);
+    }
+
+    @Benchmark
+    public Event updateWithModelMapper() {
+        modelMapper.map(eventDto, existingEvent);
+        return existingEvent;
+    }
+
+    @Benchmark
+    public Event updateWithEventMapper() {
+        eventMapper.update(eventDto, existingEvent);
+        return existingEvent;
+    }
+}
@@ -0,0 +1,118 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 쪽 비용: linkTo(...) 로 self 링크를 붙이는 EventResource 생성과
+ * GET /api/events 한 페이지를 PagedModel 로 조립해 HAL JSON 으로 쓰기까지.
+ * linkTo 는 현재 요청에서 base URI 를 읽으므로 목 요청을 스레드에 묶어 둔다.
+ * halPageWithSerializers 는 같은 페이지를 EventSummaryPageSerializer 로 쓴다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventResponseBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private Event event;
+    private Page<EventSummary> page;
+    private PagedResourcesAssembler<EventSummary> assembler;
+    private ObjectMapper halMapper;
+    private ObjectMapper halMapperWithSerializers;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName("api.example.com");
+        request.setQueryString("page=0&size=" + pageSize + "&sort=id,ASC");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        event = Event.builder()
+                .id(1)
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .build();
+
+        List<EventSummary> content = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(2020, 10, 30, 17, 58);
+            content.add(new EventSummary(i, 0L, "event " + i, "test event",
+                    dateTime, dateTime, dateTime, dateTime.plusDays(1),
+                    "삼육대학교", 100, 200, 100, false, true, EventStatus.DRAFT, 1));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by("id")), 1000);
+        assembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+
+        halMapper = new ObjectMapper();
+        halMapper.registerModule(new JavaTimeModule());
+        halMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        halMapper.registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new AnnotationLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        // 애플리케이션에서는 @JsonComponent 로 등록되는 직렬화기
+        halMapperWithSerializers = halMapper.copy();
+        halMapperWithSerializers.registerModule(new SimpleModule()
+                .addSerializer(EventSummaryResource.class, new EventSummaryResourceSerializer())
+                .addSerializer(EventSummaryPage.class, new EventSummaryPageSerializer()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public EventResource eventResource() {
+        return new EventResource(event);
+    }
+
+    @Benchmark
+    public byte[] halPage() throws Exception {
+        return halMapper.writeValueAsBytes(assembler.toModel(page, EventSummaryResource::new));
+    }
+
+    @Benchmark
+    public byte[] halPageWithSerializers() throws Exception {
+        return halMapperWithSerializers.writeValueAsBytes(
+                EventSummaryPage.of(assembler.toModel(page, EventSummaryResource::new)));
+    }
+}
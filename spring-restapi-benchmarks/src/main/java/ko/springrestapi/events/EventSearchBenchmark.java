@@ -0,0 +1,112 @@
+package ko.springrestapi.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventSearchIndex 검색 지연. 이벤트 events 개를 색인해 두고 첫 페이지 (20개) 를 찾는다.
+ * 단어는 vocabulary 개 중에서 Zipf 분포로 뽑으므로 rare 는 수백 건, common 은 전체의 몇 % 가 걸린다.
+ * 한 번에 모든 postings 를 훑기 때문에 지연은 걸리는 문서 수에 비례한다.
+ * (java -jar target/benchmarks.jar EventSearchBenchmark -jvmArgs -Xmx2g)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EventSearchBenchmark {
+
+    @Param({"1000000"})
+    private int events;
+
+    @Param({"20000"})
+    private int vocabulary;
+
+    private EventSearchIndex index;
+    private final Pageable firstPage = PageRequest.of(0, 20);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 순위가 r 인 단어가 나올 확률이 1/r 에 비례하도록 누적 분포를 만든다
+        double[] cumulative = new double[vocabulary];
+        double sum = 0;
+        for (int rank = 1; rank <= vocabulary; rank++) {
+            sum += 1.0 / rank;
+            cumulative[rank - 1] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        index = new EventSearchIndex(null);
+
+        List<Event> chunk = new ArrayList<>(10_000);
+        for (int id = 1; id <= events; id++) {
+            StringBuilder name = new StringBuilder();
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < 3; i++) {
+                name.append(word(cumulative, sum, random)).append(' ');
+            }
+            for (int i = 0; i < 12; i++) {
+                description.append(word(cumulative, sum, random)).append(' ');
+            }
+            chunk.add(Event.builder().id(id).name(name.toString()).description(description.toString()).build());
+            if (chunk.size() == 10_000) {
+                index.index(chunk);
+                chunk.clear();
+            }
+        }
+        index.index(chunk);
+    }
+
+    private String word(double[] cumulative, double sum, SplittableRandom random) {
+        double target = random.nextDouble() * sum;
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return "w" + low;
+    }
+
+    @Benchmark
+    public Page<Integer> rare() {
+        return index.search("w15000", firstPage);
+    }
+
+    @Benchmark
+    public Page<Integer> rareTwoTerms() {
+        return index.search("w12000 w17000", firstPage);
+    }
+
+    @Benchmark
+    public Page<Integer> medium() {
+        return index.search("w500", firstPage);
+    }
+
+    @Benchmark
+    public Page<Integer> common() {
+        return index.search("w10", firstPage);
+    }
+}
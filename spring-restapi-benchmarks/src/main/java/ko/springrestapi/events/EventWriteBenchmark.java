@@ -0,0 +1,78 @@
+package ko.springrestapi.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 생성/수정 요청에서 매핑 다음에 도는 EventValidator.validate 와 Event.update().
+ * 컨트롤러처럼 요청마다 새 Errors 를 만든다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventWriteBenchmark {
+
+    private EventValidator eventValidator;
+    private EventDto validDto;
+    private EventDto wrongDto;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        eventValidator = new EventValidator();
+        validDto = eventDto(100, 200, LocalDateTime.of(2020, 10, 31, 17, 58));
+        wrongDto = eventDto(20000, 200, LocalDateTime.of(2020, 10, 29, 17, 58));
+        event = new EventMapper().toEvent(validDto);
+    }
+
+    @Benchmark
+    public Errors validate() {
+        Errors errors = new BeanPropertyBindingResult(validDto, "eventDto");
+        eventValidator.validate(validDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors validateWrongInput() {
+        Errors errors = new BeanPropertyBindingResult(wrongDto, "eventDto");
+        eventValidator.validate(wrongDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Event update() {
+        event.update();
+        return event;
+    }
+
+    private EventDto eventDto(int basePrice, int maxPrice, LocalDateTime endEventDateTime) {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .endEventDateTime(endEventDateTime)
+                .basePrice(basePrice)
+                .maxPrice(maxPrice)
+                .limitOfEnrollment(100)
+                .location("삼육대학교")
+                .build();
+    }
+}
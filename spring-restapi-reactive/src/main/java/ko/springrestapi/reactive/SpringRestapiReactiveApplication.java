@@ -0,0 +1,24 @@
+package ko.springrestapi.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+import java.util.Map;
+
+/**
+ * 이벤트 API 의 WebFlux + R2DBC 배포. spring-restapi 와 같은 DB 를 쓰고 같은 HAL 응답을 준다.
+ * 토큰은 발급하지 않고, spring-restapi 가 my-app.token-mode=jwt 로 발급한 토큰을 같은 서명 키로 검증만 한다.
+ * <p>
+ * 설정 파일 이름을 reactive 로 둔 건 spring-restapi jar 안의 application.properties 와 섞이지 않게 하기 위해서다.
+ */
+@SpringBootApplication
+public class SpringRestapiReactiveApplication {
+
+    public static final String CONFIG_NAME = "reactive";
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(SpringRestapiReactiveApplication.class);
+        application.setDefaultProperties(Map.of("spring.config.name", CONFIG_NAME));
+        application.run(args);
+    }
+}
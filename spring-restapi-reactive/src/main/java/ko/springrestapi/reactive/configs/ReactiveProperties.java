@@ -0,0 +1,18 @@
+package ko.springrestapi.reactive.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "my-app")
+@Getter @Setter
+public class ReactiveProperties {
+
+    /** spring-restapi 의 my-app.token-signing-key 와 같은 값 */
+    private String tokenSigningKey;
+
+    /** GET /api/events/export 에서 한 번에 인코딩해 내보내는 행 수 */
+    private int exportChunkSize = 500;
+}
@@ -0,0 +1,116 @@
+package ko.springrestapi.reactive.configs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import reactor.core.publisher.Mono;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * spring-restapi 의 ResourceServerConfig 와 같은 규칙. GET /api/** 는 누구나, 나머지는 bearer 토큰이 있어야 한다.
+ * 토큰은 spring-restapi 의 JwtAccessTokenConverter 가 HMAC-SHA256 으로 서명한 JWT 다.
+ * 토큰 저장소 모드 (my-app.token-mode=store) 의 토큰은 그 프로세스 메모리에만 있으므로 여기서는 받을 수 없다.
+ */
+@Configuration
+public class SecurityConfig {
+
+    static final int MINIMUM_KEY_LENGTH = 32;
+
+    /** spring-restapi 의 AccountUserAuthenticationConverter 가 싣는 계정 id 클레임 */
+    static final String ACCOUNT_ID = "account_id";
+
+    /** spring-restapi 의 ResourceServerConfig 의 resourceId. WWW-Authenticate 의 realm 으로 쓴다 */
+    static final String REALM = "event";
+
+    /** spring-restapi 의 ExceptionTranslationFilter 가 토큰 없는 요청에 쓰는 메시지 */
+    static final String FULL_AUTHENTICATION_REQUIRED = "Full authentication is required to access this resource";
+
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ObjectMapper objectMapper) {
+        return http
+                .csrf().disable()
+                .httpBasic().disable()
+                .formLogin().disable()
+                // spring-restapi 의 리소스 서버처럼 세션 없이 요청마다 토큰만 본다
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange()
+                .pathMatchers(HttpMethod.GET, "/api/**").permitAll()
+                .anyExchange().authenticated()
+                .and()
+                .oauth2ResourceServer()
+                .authenticationEntryPoint(authenticationEntryPoint(objectMapper))
+                .jwt()
+                .and().and()
+                .build();
+    }
+
+    @Bean
+    ReactiveJwtDecoder jwtDecoder(ReactiveProperties reactiveProperties) {
+        String signingKey = reactiveProperties.getTokenSigningKey();
+        if (signingKey == null || signingKey.length() < MINIMUM_KEY_LENGTH) {
+            throw new IllegalStateException("my-app.token-signing-key must be at least "
+                    + MINIMUM_KEY_LENGTH + " characters");
+        }
+        return NimbusReactiveJwtDecoder
+                .withSecretKey(new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .build();
+    }
+
+    /**
+     * spring-restapi 의 OAuth2AuthenticationEntryPoint 와 같은 401 본문 ({"error", "error_description"}) 과 WWW-Authenticate 헤더를 쓴다.
+     */
+    static ServerAuthenticationEntryPoint authenticationEntryPoint(ObjectMapper objectMapper) {
+        return (exchange, e) -> {
+            String error = "unauthorized";
+            String description = FULL_AUTHENTICATION_REQUIRED;
+            if (e instanceof OAuth2AuthenticationException) {
+                OAuth2Error oauth2Error = ((OAuth2AuthenticationException) e).getError();
+                error = oauth2Error.getErrorCode();
+                description = oauth2Error.getDescription();
+            }
+            Map<String, String> body = new LinkedHashMap<>();
+            body.put("error", error);
+            body.put("error_description", description);
+
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, String.format(
+                    "Bearer realm=\"%s\", error=\"%s\", error_description=\"%s\"", REALM, error, description));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            try {
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(objectMapper.writeValueAsBytes(body))));
+            } catch (JsonProcessingException ex) {
+                return Mono.error(ex);
+            }
+        };
+    }
+
+    /** 토큰이 없거나 계정 id 가 없는 토큰이면 null */
+    public static Integer accountId(Jwt jwt) {
+        if (jwt == null) {
+            return null;
+        }
+        Object accountId = jwt.getClaims().get(ACCOUNT_ID);
+        return accountId instanceof Number ? ((Number) accountId).intValue() : null;
+    }
+}
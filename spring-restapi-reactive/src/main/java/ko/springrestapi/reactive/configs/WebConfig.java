@@ -0,0 +1,35 @@
+package ko.springrestapi.reactive.configs;
+
+import ko.springrestapi.common.ErrorsSerializer;
+import ko.springrestapi.events.EventValidator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * HAL 응답은 spring-restapi 와 같은 Spring HATEOAS HAL 모듈로 쓴다.
+ * Pageable 은 spring-restapi (PageableHandlerMethodArgumentResolver) 와 같은 파라미터 이름과 기본값으로 받는다.
+ * 검증 규칙과 400 본문 모양은 spring-restapi 의 클래스를 그대로 쓴다.
+ */
+@Configuration
+@EnableHypermediaSupport(type = EnableHypermediaSupport.HypermediaType.HAL)
+public class WebConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+
+    @Bean
+    ErrorsSerializer errorsSerializer() {
+        return new ErrorsSerializer();
+    }
+
+    @Bean
+    EventValidator eventValidator() {
+        return new EventValidator();
+    }
+}
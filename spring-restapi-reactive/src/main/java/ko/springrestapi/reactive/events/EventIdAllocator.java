@@ -0,0 +1,63 @@
+package ko.springrestapi.reactive.events;
+
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * event_seq 에서 id 를 받는다. spring-restapi 의 Event 는 allocationSize 50 인 pooled 시퀀스라
+ * Hibernate 는 시퀀스 값 hi 를 받으면 (hi - 49 .. hi] 를 쓴다. 여기서도 같은 구간을 쓰므로 두 배포의 id 가 겹치지 않는다.
+ * 구간을 다 쓸 때만 DB 에 간다.
+ * <p>
+ * 예외는 새 시퀀스의 첫 값 (INITIAL_VALUE) 이다. Hibernate 는 첫 값을 받으면 한 번 더 받아서 [1 .. 두 번째 값] 을 쓰는데,
+ * 이 사이에 여기서 받은 구간은 Hibernate 의 구간과 겹친다. 여기서 첫 값을 받았을 때는 Hibernate 와 똑같이 한 번 더 받지만,
+ * Hibernate 가 먼저 첫 값을 받은 경우는 여기서 알 수 없으므로 두 배포를 함께 띄우기 전에 event_seq 가 첫 값을 지나 있어야 한다.
+ * 예를 들어 운영 스키마에서는 {@code create sequence event_seq start with 51 increment by 50} 으로 만든다.
+ */
+class EventIdAllocator {
+
+    /** Event 의 @SequenceGenerator allocationSize 와 같아야 한다 */
+    static final int ALLOCATION_SIZE = 50;
+
+    /** Event 의 @SequenceGenerator initialValue (기본값 1) 와 같아야 한다 */
+    static final long INITIAL_VALUE = 1;
+
+    private final DatabaseClient databaseClient;
+
+    private long next;
+    private long hi;
+
+    EventIdAllocator(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    Mono<Integer> next() {
+        return Mono.defer(() -> {
+            Integer id = take();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            return nextval().flatMap(value -> value == INITIAL_VALUE
+                    ? nextval().map(second -> allocate(INITIAL_VALUE, second))
+                    : Mono.just(allocate(Math.max(INITIAL_VALUE, value - ALLOCATION_SIZE + 1), value)));
+        });
+    }
+
+    private Mono<Long> nextval() {
+        return databaseClient.execute("select nextval('event_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private synchronized Integer take() {
+        return next != 0 && next <= hi ? Math.toIntExact(next++) : null;
+    }
+
+    /**
+     * 새로 받은 구간 [low .. hi] 의 첫 id 를 돌려준다. 그 사이 다른 구독자가 받은 구간이 남아 있으면 그 구간은 버린다.
+     */
+    private synchronized Integer allocate(long low, long hi) {
+        this.next = low + 1;
+        this.hi = hi;
+        return Math.toIntExact(low);
+    }
+}
@@ -0,0 +1,365 @@
+package ko.springrestapi.reactive.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import ko.springrestapi.common.ETags;
+import ko.springrestapi.events.EventDto;
+import ko.springrestapi.events.EventFilter;
+import ko.springrestapi.events.EventSortKey;
+import ko.springrestapi.events.EventStatus;
+import ko.springrestapi.events.EventSummary;
+import ko.springrestapi.events.EventValidator;
+import ko.springrestapi.reactive.configs.ReactiveProperties;
+import ko.springrestapi.reactive.configs.SecurityConfig;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.util.DigestUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * spring-restapi 의 EventController 중 목록, 조회, 생성, 수정, 내보내기를 같은 경로와 같은 HAL 응답으로 준다.
+ * 검색 (/search), 커서 목록, 일괄 생성과 가져오기, PATCH, 참가 신청은 spring-restapi 에만 있다.
+ * 검색 색인은 spring-restapi 프로세스 메모리에 있으므로 여기서 고친 이벤트는 그쪽이 다시 색인할 때까지 검색에 예전 값으로 남는다.
+ */
+@RestController
+@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
+public class ReactiveEventController {
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private static final LinkRelation QUERY_EVENTS = LinkRelation.of("query-events");
+    private static final LinkRelation CREATE_EVENT = LinkRelation.of("create-event");
+    private static final LinkRelation UPDATE_EVENT = LinkRelation.of("update-event");
+
+    private static final Link PROFILE_CREATE = Link.of("/docs/index.html#resources-events-create", "profile");
+    private static final Link PROFILE_LIST = Link.of("/docs/index.html#resoucres-events-list", "profile");
+    private static final Link PROFILE_GET = Link.of("/docs/index.html#resoucres-events-get", "profile");
+    private static final Link PROFILE_UPDATE = Link.of("/docs/index.html#resoucres-events-update", "profile");
+
+    private final ReactiveEventRepository eventRepository;
+    private final EventValidator eventValidator;
+    private final SpringValidatorAdapter beanValidator;
+    private final ObjectWriter summaryWriter;
+    private final int exportChunkSize;
+
+    public ReactiveEventController(ReactiveEventRepository eventRepository, EventValidator eventValidator,
+                                   Validator validator, ObjectMapper objectMapper,
+                                   ReactiveProperties reactiveProperties) {
+        this.eventRepository = eventRepository;
+        this.eventValidator = eventValidator;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.summaryWriter = objectMapper.writerFor(EventSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.exportChunkSize = reactiveProperties.getExportChunkSize();
+    }
+
+    /**
+     * 이벤트 목록. 정렬은 {@link EventSortKey} 의 속성만 받는다. 검색 조건은 spring-restapi 에서만 받으므로 주면 400 이다.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Object>> queryEvents(EventFilter filter, Pageable pageable,
+                                                    @AuthenticationPrincipal Jwt jwt, ServerHttpRequest request) {
+        if (!filter.isEmpty() || !EventSortKey.supports(pageable.getSort())) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return this.eventRepository.findPage(pageable)
+                .map(page -> {
+                    String eTag = listETag(page);
+                    if (ETags.matches(request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH), eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag)
+                                .varyBy(HttpHeaders.AUTHORIZATION).build();
+                    }
+
+                    PagedModel<EntityModel<EventSummary>> pagedModel = toPagedModel(page, request);
+                    pagedModel.add(PROFILE_LIST);
+                    if (SecurityConfig.accountId(jwt) != null) {
+                        pagedModel.add(Link.of(baseUri(request), CREATE_EVENT));
+                    }
+                    return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.AUTHORIZATION).body(pagedModel);
+                });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getEvent(@PathVariable Integer id, @AuthenticationPrincipal Jwt jwt,
+                                                 ServerHttpRequest request) {
+        String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return toResponse(id, jwt, request).defaultIfEmpty(ResponseEntity.notFound().build());
+        }
+
+        // 바뀌지 않았으면 버전만 읽고 304
+        return this.eventRepository.findVersionById(id).flatMap(version -> {
+            if (ETags.matches(ifNoneMatch, ETags.of(version))) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version))
+                        .varyBy(HttpHeaders.AUTHORIZATION).build());
+            }
+            return toResponse(id, jwt, request);
+        }).defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private Mono<ResponseEntity<Object>> toResponse(Integer id, Jwt jwt, ServerHttpRequest request) {
+        return this.eventRepository.findById(id).map(event -> {
+            EntityModel<EventSummary> eventModel = toModel(event, request);
+            eventModel.add(PROFILE_GET);
+            if (isManager(event, jwt)) {
+                eventModel.add(Link.of(baseUri(request) + "/" + event.getId(), UPDATE_EVENT));
+            }
+            return ResponseEntity.ok().eTag(ETags.of(event.getVersion()))
+                    .varyBy(HttpHeaders.AUTHORIZATION).body((Object) eventModel);
+        });
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createEvent(@RequestBody EventDto eventDto, @AuthenticationPrincipal Jwt jwt,
+                                                    ServerHttpRequest request) {
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.beanValidator.validate(eventDto, errors);
+        if (errors.hasErrors()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        this.eventValidator.validate(eventDto, errors);
+        if (errors.hasErrors()) {
+            return Mono.just(ResponseEntity.badRequest().body(errors));
+        }
+
+        Integer managerId = SecurityConfig.accountId(jwt);
+        return this.eventRepository.insert(eventDto, managerId).map(id -> {
+            EventSummary event = toSummary(id, 0L, eventDto, EventStatus.DRAFT, managerId);
+            Link updateLink = Link.of(baseUri(request) + "/" + id, UPDATE_EVENT);
+            EntityModel<EventSummary> eventModel = toModel(event, request);
+            eventModel.add(Link.of(baseUri(request), QUERY_EVENTS));
+            eventModel.add(updateLink);
+            eventModel.add(PROFILE_CREATE);
+            return ResponseEntity.created(updateLink.toUri()).eTag(ETags.of(0L)).body(eventModel);
+        });
+    }
+
+    /**
+     * spring-restapi 의 PUT 과 같다. If-Match 에 버전 ETag 를 주면 읽지 않고 조건부 UPDATE 한 번으로 고치고 204,
+     * 없으면 읽어서 버전을 확인한 다음 같은 조건부 UPDATE 로 고치고 200 이다. 그 사이 다른 수정이 먼저 들어왔으면 409 다.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Object>> updateEvent(@PathVariable Integer id, @RequestBody EventDto eventDto,
+                                                    @AuthenticationPrincipal Jwt jwt,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    ServerHttpRequest request) {
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.beanValidator.validate(eventDto, errors);
+        Integer accountId = SecurityConfig.accountId(jwt);
+
+        Optional<Long> expectedVersion = ETags.version(ifMatch);
+        if (expectedVersion.isPresent() && accountId != null) {
+            return updateEventIfVersionMatches(id, expectedVersion.get(), eventDto, errors, accountId);
+        }
+
+        return this.eventRepository.findById(id).flatMap(existingEvent -> {
+            if (errors.hasErrors()) {
+                return Mono.just(ResponseEntity.badRequest().body((Object) errors));
+            }
+            this.eventValidator.validate(eventDto, errors);
+            if (errors.hasErrors()) {
+                return Mono.just(ResponseEntity.badRequest().body((Object) errors));
+            }
+            if (!isManager(existingEvent, jwt)) {
+                return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+            }
+            if (ifMatch != null && !ETags.strongMatches(ifMatch, ETags.of(existingEvent.getVersion()))) {
+                return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .eTag(ETags.of(existingEvent.getVersion())).build());
+            }
+
+            long version = existingEvent.getVersion();
+            return this.eventRepository.updateIfVersionMatches(id, version, accountId, eventDto).flatMap(updated -> {
+                if (updated == 0) {
+                    return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build());
+                }
+                EventSummary savedEvent = toSummary(id, version + 1, eventDto, existingEvent.getEventStatus(), accountId);
+                EntityModel<EventSummary> eventModel = toModel(savedEvent, request);
+                eventModel.add(PROFILE_UPDATE);
+                return capacityChanged(existingEvent, eventDto)
+                        .thenReturn(ResponseEntity.ok().eTag(ETags.of(version + 1)).body((Object) eventModel));
+            });
+        }).defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private Mono<ResponseEntity<Object>> updateEventIfVersionMatches(Integer id, long version, EventDto eventDto,
+                                                                     Errors errors, Integer accountId) {
+        if (!errors.hasErrors()) {
+            this.eventValidator.validate(eventDto, errors);
+        }
+        if (errors.hasErrors()) {
+            return Mono.just(ResponseEntity.badRequest().body(errors));
+        }
+
+        return this.eventRepository.updateIfVersionMatches(id, version, accountId, eventDto).flatMap(updated -> {
+            if (updated == 1) {
+                // 예전 정원을 읽지 않으므로 정원 행은 항상 맞춰 둔다
+                return this.eventRepository.updateCapacity(id, eventDto.getLimitOfEnrollment())
+                        .thenReturn(ResponseEntity.noContent().eTag(ETags.of(version + 1)).build());
+            }
+            // 실패한 경우에만 이유를 찾으려고 읽는다
+            return this.eventRepository.findById(id)
+                    .map(existingEvent -> {
+                        if (!accountId.equals(managerId(existingEvent))) {
+                            return new ResponseEntity<Object>(HttpStatus.UNAUTHORIZED);
+                        }
+                        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                .eTag(ETags.of(existingEvent.getVersion())).build();
+                    })
+                    .defaultIfEmpty(ResponseEntity.notFound().build());
+        });
+    }
+
+    /**
+     * 전체 이벤트를 NDJSON 으로 흘려 보낸다. exportChunkSize 행씩 한 버퍼로 인코딩하고,
+     * 클라이언트가 읽는 만큼만 다음 청크를 요청하므로 DB 커서도 그 속도로 읽힌다.
+     */
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public Flux<DataBuffer> exportEvents(ServerHttpResponse response) {
+        DataBufferFactory bufferFactory = response.bufferFactory();
+        return this.eventRepository.streamAll()
+                .buffer(this.exportChunkSize)
+                .map(chunk -> encode(chunk, bufferFactory));
+    }
+
+    private DataBuffer encode(List<EventSummary> chunk, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(chunk.size() * 512);
+        try (OutputStream outputStream = buffer.asOutputStream()) {
+            for (EventSummary summary : chunk) {
+                this.summaryWriter.writeValue(outputStream, summary);
+                outputStream.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    private Mono<Integer> capacityChanged(EventSummary existingEvent, EventDto eventDto) {
+        if (existingEvent.getLimitOfEnrollment() == eventDto.getLimitOfEnrollment()) {
+            return Mono.just(0);
+        }
+        return this.eventRepository.updateCapacity(existingEvent.getId(), eventDto.getLimitOfEnrollment());
+    }
+
+    /**
+     * spring-restapi 의 PagedResourcesAssembler 와 같은 링크 (first, prev, self, next, last) 를 단다.
+     * 링크는 지금 요청 URI 에서 page, size, sort 만 바꾼 것이다.
+     */
+    private PagedModel<EntityModel<EventSummary>> toPagedModel(Page<EventSummary> page, ServerHttpRequest request) {
+        List<EntityModel<EventSummary>> content = new ArrayList<>(page.getNumberOfElements());
+        for (EventSummary event : page) {
+            content.add(toModel(event, request));
+        }
+
+        Pageable pageable = page.getPageable();
+        List<Link> links = new ArrayList<>(5);
+        boolean navigable = page.hasPrevious() || page.hasNext();
+        if (navigable) {
+            links.add(pageLink(request, 0, pageable, IanaLinkRelations.FIRST));
+        }
+        if (page.hasPrevious()) {
+            links.add(pageLink(request, pageable.getPageNumber() - 1, pageable, IanaLinkRelations.PREV));
+        }
+        links.add(pageLink(request, pageable.getPageNumber(), pageable, IanaLinkRelations.SELF));
+        if (page.hasNext()) {
+            links.add(pageLink(request, pageable.getPageNumber() + 1, pageable, IanaLinkRelations.NEXT));
+        }
+        if (navigable) {
+            links.add(pageLink(request, Math.max(page.getTotalPages() - 1, 0), pageable, IanaLinkRelations.LAST));
+        }
+
+        PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(pageable.getPageSize(), page.getNumber(),
+                page.getTotalElements(), page.getTotalPages());
+        return PagedModel.of(content, metadata, links);
+    }
+
+    private Link pageLink(ServerHttpRequest request, int pageNumber, Pageable pageable, LinkRelation rel) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpRequest(request)
+                .replaceQueryParam("page", pageNumber)
+                .replaceQueryParam("size", pageable.getPageSize())
+                .replaceQueryParam("sort");
+        for (Sort.Order order : pageable.getSort()) {
+            builder.queryParam("sort", order.getProperty() + "," + order.getDirection().name().toLowerCase());
+        }
+        return Link.of(builder.build().toString(), rel);
+    }
+
+    private EntityModel<EventSummary> toModel(EventSummary event, ServerHttpRequest request) {
+        return EntityModel.of(event, Link.of(baseUri(request) + "/" + event.getId(), IanaLinkRelations.SELF));
+    }
+
+    /** spring-restapi 의 linkTo(EventController.class) 와 같은 href. X-Forwarded-* 헤더를 따른다 */
+    private static String baseUri(ServerHttpRequest request) {
+        return UriComponentsBuilder.fromHttpRequest(request)
+                .replacePath("/api/events")
+                .replaceQuery(null)
+                .build()
+                .toUriString();
+    }
+
+    /**
+     * spring-restapi 의 목록 ETag 와 같은 값. 페이지 위치, 전체 개수, 페이지에 담긴 (id, version) 으로 만든다.
+     */
+    private static String listETag(Page<EventSummary> page) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(page.getNumber()).append('/')
+                .append(page.getSize()).append('/')
+                .append(page.getSort()).append('/')
+                .append(page.getTotalElements());
+        page.forEach(e -> fingerprint.append(';').append(e.getId()).append(':').append(e.getVersion()));
+        return ETags.of(DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static boolean isManager(EventSummary event, Jwt jwt) {
+        Integer accountId = SecurityConfig.accountId(jwt);
+        return accountId != null && accountId.equals(managerId(event));
+    }
+
+    private static Integer managerId(EventSummary event) {
+        return event.getManager() == null ? null : event.getManager().getId();
+    }
+
+    private static EventSummary toSummary(Integer id, Long version, EventDto eventDto, EventStatus eventStatus,
+                                          Integer managerId) {
+        return new EventSummary(id, version, eventDto.getName(), eventDto.getDescription(),
+                eventDto.getBeginEnrollmentDateTime(), eventDto.getCloseEnrollmentDateTime(),
+                eventDto.getBeginEventDateTime(), eventDto.getEndEventDateTime(), eventDto.getLocation(),
+                eventDto.getBasePrice(), eventDto.getMaxPrice(), eventDto.getLimitOfEnrollment(),
+                ReactiveEventRepository.isFree(eventDto), ReactiveEventRepository.isOffline(eventDto),
+                eventStatus, managerId);
+    }
+}
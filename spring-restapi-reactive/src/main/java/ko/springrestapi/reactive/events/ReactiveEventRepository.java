@@ -0,0 +1,227 @@
+package ko.springrestapi.reactive.events;
+
+import io.r2dbc.spi.Row;
+import ko.springrestapi.events.EventDto;
+import ko.springrestapi.events.EventSortKey;
+import ko.springrestapi.events.EventStatus;
+import ko.springrestapi.events.EventSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+
+/**
+ * event 테이블을 R2DBC 로 읽고 쓴다. 테이블과 컬럼은 spring-restapi 의 Event 엔티티가 만든 것을 그대로 쓴다.
+ * 목록은 EventSummary 프로젝션으로만 읽고, 수정은 spring-restapi 의 EventRepositoryImpl.updateIfVersionMatches 와
+ * 같은 조건부 UPDATE 한 번이다.
+ * <p>
+ * spring-restapi 는 Event 를 2차 캐시에 두므로, 두 배포가 같은 DB 를 같이 쓰면 여기서 고친 이벤트가
+ * 그쪽 캐시 TTL (10분) 동안 예전 값으로 보일 수 있다.
+ */
+@Repository
+public class ReactiveEventRepository {
+
+    private static final String SUMMARY = "select id, version, name, description, begin_enrollment_date_time, "
+            + "close_enrollment_date_time, begin_event_date_time, end_event_date_time, location, base_price, max_price, "
+            + "limit_of_enrollment, free, offline, event_status, manager_id from event";
+
+    private static final String INSERT = "insert into event (id, version, name, description, "
+            + "begin_enrollment_date_time, close_enrollment_date_time, begin_event_date_time, end_event_date_time, "
+            + "location, base_price, max_price, limit_of_enrollment, free, offline, event_status, manager_id) "
+            + "values (:id, 0, :name, :description, :beginEnrollmentDateTime, :closeEnrollmentDateTime, "
+            + ":beginEventDateTime, :endEventDateTime, :location, :basePrice, :maxPrice, :limitOfEnrollment, "
+            + ":free, :offline, :eventStatus, :managerId)";
+
+    private static final String UPDATE = "update event set version = version + 1, name = :name, "
+            + "description = :description, begin_enrollment_date_time = :beginEnrollmentDateTime, "
+            + "close_enrollment_date_time = :closeEnrollmentDateTime, begin_event_date_time = :beginEventDateTime, "
+            + "end_event_date_time = :endEventDateTime, location = :location, base_price = :basePrice, "
+            + "max_price = :maxPrice, limit_of_enrollment = :limitOfEnrollment, free = :free, offline = :offline "
+            + "where id = :id and version = :version and manager_id = :managerId";
+
+    private final DatabaseClient databaseClient;
+    private final EventIdAllocator eventIdAllocator;
+
+    public ReactiveEventRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.eventIdAllocator = new EventIdAllocator(databaseClient);
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.execute("select count(*) from event")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * 정렬은 {@link EventSortKey} 의 속성만 받는다고 가정하고 (호출하는 쪽에서 확인한다) 동률은 id 로 끊는다.
+     */
+    public Flux<EventSummary> findAll(Pageable pageable) {
+        return databaseClient.execute(SUMMARY + orderBy(pageable.getSort()) + " limit :limit offset :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveEventRepository::toSummary)
+                .all();
+    }
+
+    /**
+     * 한 페이지와 전체 개수. spring-restapi 의 PageableExecutionUtils 처럼 페이지 내용으로 전체 개수를 알 수 있으면 count 를 하지 않는다.
+     * 두 쿼리를 동시에 보내면 요청마다 커넥션 두 개를 잡고 기다리게 되어, 풀 크기보다 동시 요청이 많을 때 서로 막히므로 차례로 보낸다.
+     */
+    public Mono<Page<EventSummary>> findPage(Pageable pageable) {
+        return findAll(pageable).collectList().flatMap(content -> {
+            if (pageable.isUnpaged() || pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+                return Mono.just(new PageImpl<>(content, pageable, content.size()));
+            }
+            if (!content.isEmpty() && content.size() < pageable.getPageSize()) {
+                return Mono.just(new PageImpl<>(content, pageable, pageable.getOffset() + content.size()));
+            }
+            return count().map(total -> new PageImpl<>(content, pageable, total));
+        });
+    }
+
+    /**
+     * 전체 이벤트를 id 순으로 흘려 보낸다. 구독자가 요청한 만큼만 커서에서 읽는다.
+     */
+    public Flux<EventSummary> streamAll() {
+        return databaseClient.execute(SUMMARY + " order by id")
+                .map(ReactiveEventRepository::toSummary)
+                .all();
+    }
+
+    public Mono<EventSummary> findById(Integer id) {
+        return databaseClient.execute(SUMMARY + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveEventRepository::toSummary)
+                .one();
+    }
+
+    public Mono<Long> findVersionById(Integer id) {
+        return databaseClient.execute("select version from event where id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * 새 이벤트를 DRAFT 로 저장하고 id 를 돌려준다.
+     */
+    public Mono<Integer> insert(EventDto eventDto, Integer managerId) {
+        return eventIdAllocator.next().flatMap(id -> {
+            DatabaseClient.GenericExecuteSpec spec = bindValues(databaseClient.execute(INSERT), eventDto)
+                    .bind("id", id)
+                    .bind("eventStatus", EventStatus.DRAFT.name());
+            spec = managerId == null ? spec.bindNull("managerId", Integer.class) : spec.bind("managerId", managerId);
+            return spec.fetch().rowsUpdated().thenReturn(id);
+        });
+    }
+
+    /**
+     * 버전과 관리자가 맞을 때만 고치고 버전을 올린다. 고쳤으면 1, 아니면 0
+     */
+    public Mono<Integer> updateIfVersionMatches(Integer id, long version, Integer managerId, EventDto eventDto) {
+        return bindValues(databaseClient.execute(UPDATE), eventDto)
+                .bind("id", id)
+                .bind("version", version)
+                .bind("managerId", managerId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * 신청을 받은 적 있는 이벤트의 정원 행을 맞춘다. spring-restapi 의 EnrollmentService.capacityChanged 와 같다.
+     */
+    public Mono<Integer> updateCapacity(Integer id, int capacity) {
+        return databaseClient.execute("update event_capacity set capacity = :capacity where event_id = :id")
+                .bind("capacity", capacity)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindValues(DatabaseClient.GenericExecuteSpec spec, EventDto eventDto) {
+        spec = spec
+                .bind("name", eventDto.getName())
+                .bind("description", eventDto.getDescription())
+                .bind("beginEnrollmentDateTime", eventDto.getBeginEnrollmentDateTime())
+                .bind("closeEnrollmentDateTime", eventDto.getCloseEnrollmentDateTime())
+                .bind("beginEventDateTime", eventDto.getBeginEventDateTime())
+                .bind("endEventDateTime", eventDto.getEndEventDateTime())
+                .bind("basePrice", eventDto.getBasePrice())
+                .bind("maxPrice", eventDto.getMaxPrice())
+                .bind("limitOfEnrollment", eventDto.getLimitOfEnrollment())
+                .bind("free", isFree(eventDto))
+                .bind("offline", isOffline(eventDto));
+        return eventDto.getLocation() == null
+                ? spec.bindNull("location", String.class)
+                : spec.bind("location", eventDto.getLocation());
+    }
+
+    /** Event.update() 와 같은 규칙 */
+    static boolean isFree(EventDto eventDto) {
+        return eventDto.getBasePrice() == 0 && eventDto.getMaxPrice() == 0;
+    }
+
+    /** Event.update() 와 같은 규칙 */
+    static boolean isOffline(EventDto eventDto) {
+        return eventDto.getLocation() != null && !eventDto.getLocation().isBlank();
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            String property = EventSortKey.fromProperty(order.getProperty())
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported sort: " + order.getProperty()))
+                    .getProperty();
+            orderBy.add(column(property) + (order.isAscending() ? " asc" : " desc"));
+            byId |= property.equals(EventSortKey.ID.getProperty());
+        }
+        if (!byId) {
+            orderBy.add("id asc");
+        }
+        return orderBy.toString();
+    }
+
+    /** spring-restapi 의 SpringPhysicalNamingStrategy 처럼 camelCase 를 snake_case 로 */
+    static String column(String property) {
+        StringBuilder column = new StringBuilder(property.length() + 8);
+        for (int i = 0; i < property.length(); i++) {
+            char c = property.charAt(i);
+            if (Character.isUpperCase(c)) {
+                column.append('_').append(Character.toLowerCase(c));
+            } else {
+                column.append(c);
+            }
+        }
+        return column.toString();
+    }
+
+    private static EventSummary toSummary(Row row) {
+        String eventStatus = row.get("event_status", String.class);
+        return new EventSummary(
+                row.get("id", Integer.class),
+                row.get("version", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("begin_enrollment_date_time", LocalDateTime.class),
+                row.get("close_enrollment_date_time", LocalDateTime.class),
+                row.get("begin_event_date_time", LocalDateTime.class),
+                row.get("end_event_date_time", LocalDateTime.class),
+                row.get("location", String.class),
+                row.get("base_price", Integer.class),
+                row.get("max_price", Integer.class),
+                row.get("limit_of_enrollment", Integer.class),
+                row.get("free", Boolean.class),
+                row.get("offline", Boolean.class),
+                eventStatus == null ? null : EventStatus.valueOf(eventStatus),
+                row.get("manager_id", Integer.class));
+    }
+}
@@ -0,0 +1,23 @@
+package ko.springrestapi.reactive.index;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@RestController
+public class ReactiveIndexController {
+
+    @GetMapping("/api")
+    public RepresentationModel<?> index(ServerHttpRequest request) {
+        var index = new RepresentationModel<>();
+        index.add(Link.of(UriComponentsBuilder.fromHttpRequest(request)
+                .replacePath("/api/events")
+                .replaceQuery(null)
+                .build()
+                .toUriString(), "events"));
+        return index;
+    }
+}
@@ -0,0 +1,82 @@
+package ko.springrestapi;
+
+import ko.springrestapi.common.AppProperties;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Map;
+
+/**
+ * spring-restapi 를 같은 JVM 에 한 번만 띄운다. reactive 테스트의 스키마를 Hibernate 로 만들고, 토큰을 발급하고, 응답을 비교하는 데 쓴다.
+ * DB 는 두 배포가 같이 쓰는 인메모리 H2 (reactive) 이고 토큰은 my-app.token-mode=jwt 로 발급한다.
+ * 패키지를 ko.springrestapi 로 둔 건 SpringRestapiApplication 과 같은 엔티티, 저장소 스캔 범위를 쓰기 위해서다.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = R2dbcAutoConfiguration.class)
+@ComponentScan(excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "ko\\.springrestapi\\.reactive\\..*"),
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = SpringRestapiApplication.class)})
+public class MvcServer {
+
+    public static final String SIGNING_KEY = "reactive-test-signing-key-0123456789";
+
+    private static ConfigurableApplicationContext context;
+
+    public static synchronized ConfigurableApplicationContext start() {
+        if (context == null) {
+            context = new SpringApplicationBuilder(MvcServer.class)
+                    .web(WebApplicationType.SERVLET)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+                            "--spring.datasource.hikari.jdbc-url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+                            "--spring.datasource.driver-class-name=org.h2.Driver",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                            "--my-app.token-mode=jwt",
+                            "--my-app.token-signing-key=" + SIGNING_KEY,
+                            "--my-app.event-status-scheduler=false",
+                            "--spring.jpa.properties.hibernate.generate_statistics=false",
+                            "--logging.level.org.hibernate.SQL=INFO",
+                            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+                            "--logging.level.org.springframework.security=INFO");
+        }
+        return context;
+    }
+
+    public static String baseUrl() {
+        return "http://localhost:" + ((WebServerApplicationContext) start()).getWebServer().getPort();
+    }
+
+    public static <T> T getBean(Class<T> type) {
+        return start().getBean(type);
+    }
+
+    /**
+     * my-app.user-username 계정으로 password 그랜트 토큰을 받는다.
+     */
+    public static String accessToken() {
+        AppProperties appProperties = getBean(AppProperties.class);
+        Map<?, ?> response = WebClient.create(baseUrl())
+                .post().uri("/oauth/token")
+                .headers(headers -> headers.setBasicAuth(appProperties.getClientId(), appProperties.getClientSecret()))
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("grant_type", "password")
+                        .with("username", appProperties.getUserUsername())
+                        .with("password", appProperties.getUserPassword()))
+                .retrieve()
+                .bodyToMono(Map.class)
+                .block();
+        return (String) response.get("access_token");
+    }
+}
@@ -0,0 +1,169 @@
+package ko.springrestapi.reactive;
+
+import ko.springrestapi.MvcServer;
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.AccountRepository;
+import ko.springrestapi.common.AppProperties;
+import ko.springrestapi.events.Event;
+import ko.springrestapi.events.EventRepository;
+import ko.springrestapi.events.EventStatus;
+import ko.springrestapi.reactive.common.BaseControllerTest;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * -Dload-test=true 일 때만 돈다. 같은 DB 에 EVENTS 개 이벤트를 넣고 두 배포에 같은 요청 (목록 한 페이지, 단건 조회를 번갈아) 을
+ * CONCURRENCY 개씩 동시에 REQUESTS 번 보내 처리량과 지연 시간 분위를 로그로 남긴다. 전체 내보내기도 한 번씩 시간을 잰다.
+ * 결과는 장비에 따라 달라서 어느 쪽이 빨라야 한다고 단정하지 않고, 모든 응답이 성공했는지만 본다.
+ */
+public class EventsLoadTest extends BaseControllerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventsLoadTest.class);
+
+    static final int EVENTS = 2000;
+    static final int PAGE_SIZE = 20;
+    static final int WARMUP = 1000;
+    static final int REQUESTS = 10_000;
+    static final int CONCURRENCY = 64;
+
+    @LocalServerPort
+    int port;
+
+    @BeforeClass
+    public static void enabled() {
+        Assume.assumeTrue("load test runs only with -Dload-test=true", Boolean.getBoolean("load-test"));
+    }
+
+    @Test
+    @Description("같은 요청을 spring-restapi 와 reactive 배포에 같은 동시성으로 보내 처리량과 지연 시간을 비교한다")
+    public void compare() {
+        //Given
+        List<Integer> ids = generateEvents();
+        WebClient mvc = WebClient.create(MvcServer.baseUrl());
+        WebClient reactive = WebClient.create("http://localhost:" + this.port);
+
+        //When
+        run(mvc, ids, WARMUP);
+        run(reactive, ids, WARMUP);
+        Result mvcResult = run(mvc, ids, REQUESTS);
+        Result reactiveResult = run(reactive, ids, REQUESTS);
+        long mvcExport = export(mvc);
+        long reactiveExport = export(reactive);
+
+        //Then
+        log.info(mvcResult.format("mvc"));
+        log.info(reactiveResult.format("reactive"));
+        log.info(String.format("export %d events: mvc %d ms, reactive %d ms", EVENTS, mvcExport, reactiveExport));
+        assertThat(mvcResult.failures).isZero();
+        assertThat(reactiveResult.failures).isZero();
+    }
+
+    private Result run(WebClient client, List<Integer> ids, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        int pages = EVENTS / PAGE_SIZE;
+
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    String uri = i % 2 == 0
+                            ? "/api/events?page=" + (i / 2 % pages) + "&size=" + PAGE_SIZE
+                            : "/api/events/" + ids.get(i / 2 % ids.size());
+                    long begin = System.nanoTime();
+                    return client.get().uri(uri)
+                            .accept(MediaTypes.HAL_JSON)
+                            .exchange()
+                            .flatMap(response -> response.toEntity(byte[].class))
+                            .doOnNext(entity -> {
+                                latencies[i] = System.nanoTime() - begin;
+                                if (!entity.getStatusCode().is2xxSuccessful()) {
+                                    failures.incrementAndGet();
+                                }
+                            });
+                }, CONCURRENCY)
+                .blockLast();
+        return new Result(requests, System.nanoTime() - start, latencies, failures.get());
+    }
+
+    private long export(WebClient client) {
+        long start = System.nanoTime();
+        client.get().uri("/api/events/export")
+                .accept(MediaType.parseMediaType("application/x-ndjson"))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .doOnNext(DataBufferUtils::release)
+                .blockLast();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private List<Integer> generateEvents() {
+        EventRepository eventRepository = MvcServer.getBean(EventRepository.class);
+        eventRepository.deleteAll();
+        AppProperties appProperties = MvcServer.getBean(AppProperties.class);
+        Account manager = MvcServer.getBean(AccountRepository.class).findByEmail(appProperties.getUserUsername()).get();
+
+        List<Event> events = IntStream.range(0, EVENTS)
+                .mapToObj(i -> Event.builder()
+                        .name("event " + i)
+                        .description("load test event")
+                        .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                        .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                        .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                        .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                        .basePrice(100)
+                        .maxPrice(200)
+                        .limitOfEnrollment(100)
+                        .location("강남역 D2 스타텁 팩토리")
+                        .eventStatus(EventStatus.PUBLISHED)
+                        .manager(manager)
+                        .build())
+                .collect(Collectors.toList());
+        return eventRepository.saveAll(events).stream().map(Event::getId).collect(Collectors.toList());
+    }
+
+    private static class Result {
+
+        private final int requests;
+        private final long elapsedNanos;
+        private final long[] latencies;
+        private final int failures;
+
+        Result(int requests, long elapsedNanos, long[] latencies, int failures) {
+            this.requests = requests;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies.clone();
+            this.failures = failures;
+            Arrays.sort(this.latencies);
+        }
+
+        String format(String name) {
+            return String.format("%-8s %d requests, concurrency %d: %.0f req/s, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms, failures %d",
+                    name, requests, CONCURRENCY, requests / (elapsedNanos / 1e9),
+                    percentile(0.50), percentile(0.99), percentile(0.999), latencies[latencies.length - 1] / 1e6, failures);
+        }
+
+        private double percentile(double p) {
+            return latencies[(int) Math.ceil(p * latencies.length) - 1] / 1e6;
+        }
+    }
+}
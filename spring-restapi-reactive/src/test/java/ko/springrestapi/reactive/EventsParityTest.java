@@ -0,0 +1,145 @@
+package ko.springrestapi.reactive;
+
+import ko.springrestapi.MvcServer;
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.AccountRepository;
+import ko.springrestapi.common.AppProperties;
+import ko.springrestapi.events.Event;
+import ko.springrestapi.events.EventDto;
+import ko.springrestapi.events.EventRepository;
+import ko.springrestapi.events.EventStatus;
+import ko.springrestapi.reactive.common.BaseControllerTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Description;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 DB 를 보는 spring-restapi 와 reactive 배포에 같은 요청을 보내 상태, ETag, 본문 바이트가 같은지 본다.
+ * 링크의 호스트와 포트만 다르므로 그 부분은 지우고 비교한다.
+ */
+public class EventsParityTest extends BaseControllerTest {
+
+    @LocalServerPort
+    int port;
+
+    private WebTestClient mvcClient;
+    private EventRepository eventRepository;
+    private Account user;
+    private String accessToken;
+
+    @Before
+    public void setUp() {
+        this.mvcClient = WebTestClient.bindToServer().baseUrl(MvcServer.baseUrl()).build();
+        this.eventRepository = MvcServer.getBean(EventRepository.class);
+        this.eventRepository.deleteAll();
+        AppProperties appProperties = MvcServer.getBean(AppProperties.class);
+        this.user = MvcServer.getBean(AccountRepository.class).findByEmail(appProperties.getUserUsername()).get();
+        // spring-restapi 가 발급한 토큰을 두 배포에 똑같이 쓴다
+        this.accessToken = "Bearer " + MvcServer.accessToken();
+    }
+
+    @Test
+    @Description("목록과 단건 조회의 HAL 본문과 ETag 가 spring-restapi 와 같다")
+    public void queryAndGetEvents() {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        Event event = generateEvent(100);
+
+        //When & Then
+        assertSameResponse(client -> client.get().uri("/api/events?page=1&size=10&sort=name,DESC")
+                .accept(MediaTypes.HAL_JSON)
+                .exchange());
+        assertSameResponse(client -> client.get().uri("/api/events?page=2&size=10")
+                .header(HttpHeaders.AUTHORIZATION, accessToken)
+                .exchange());
+        assertSameResponse(client -> client.get().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, accessToken)
+                .exchange());
+        assertSameResponse(client -> client.get().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange());
+        assertSameResponse(client -> client.get().uri("/api/events/123456")
+                .exchange());
+        assertSameResponse(client -> client.get().uri("/api/")
+                .exchange());
+    }
+
+    @Test
+    @Description("잘못된 입력의 400 본문과 NDJSON 내보내기가 spring-restapi 와 같다")
+    public void createEventErrorsAndExport() {
+        //Given
+        IntStream.range(0, 5).forEach(this::generateEvent);
+        EventDto wrongInput = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .basePrice(10000)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+
+        //When & Then
+        assertSameResponse(client -> client.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(wrongInput)
+                .exchange());
+        assertSameResponse(client -> client.post().uri("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(wrongInput)
+                .exchange());
+        assertSameResponse(client -> client.get().uri("/api/events/export")
+                .accept(MediaType.parseMediaType("application/x-ndjson"))
+                .exchange());
+    }
+
+    private void assertSameResponse(Function<WebTestClient, WebTestClient.ResponseSpec> request) {
+        EntityExchangeResult<String> expected = request.apply(this.mvcClient).expectBody(String.class).returnResult();
+        EntityExchangeResult<String> actual = request.apply(this.webTestClient).expectBody(String.class).returnResult();
+
+        assertThat(actual.getStatus()).isEqualTo(expected.getStatus());
+        assertThat(actual.getResponseHeaders().getETag()).isEqualTo(expected.getResponseHeaders().getETag());
+        assertThat(actual.getResponseHeaders().get(HttpHeaders.WWW_AUTHENTICATE))
+                .isEqualTo(expected.getResponseHeaders().get(HttpHeaders.WWW_AUTHENTICATE));
+        assertThat(withoutHost(actual.getResponseBody(), "http://localhost:" + this.port))
+                .isEqualTo(withoutHost(expected.getResponseBody(), MvcServer.baseUrl()));
+    }
+
+    private static String withoutHost(String body, String baseUrl) {
+        return body == null ? null : body.replace(baseUrl, "");
+    }
+
+    private Event generateEvent(int index) {
+        return this.eventRepository.save(Event.builder()
+                .name("event " + index)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.DRAFT)
+                .manager(user)
+                .build());
+    }
+}
@@ -0,0 +1,60 @@
+package ko.springrestapi.reactive.common;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import ko.springrestapi.MvcServer;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static ko.springrestapi.reactive.SpringRestapiReactiveApplication.CONFIG_NAME;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.config.name=" + CONFIG_NAME,
+        "spring.main.web-application-type=reactive"})
+@Import(NettyServerConfiguration.class)
+@ActiveProfiles("test")
+@Ignore
+public class BaseControllerTest {
+
+    @Autowired
+    protected WebTestClient webTestClient;
+
+    @BeforeClass
+    public static void startMvcServer() {
+        // 스키마와 계정은 spring-restapi 가 만든다
+        MvcServer.start();
+    }
+
+    /**
+     * spring-restapi 가 jwt 모드에서 발급하는 것과 같은 모양의 토큰을 같은 키로 서명해 만든다.
+     */
+    protected static String bearer(Integer accountId) {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .claim("account_id", accountId)
+                .expirationTime(Date.from(Instant.now().plusSeconds(600)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        try {
+            jwt.sign(new MACSigner(MvcServer.SIGNING_KEY.getBytes(StandardCharsets.UTF_8)));
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        return "Bearer " + jwt.serialize();
+    }
+}
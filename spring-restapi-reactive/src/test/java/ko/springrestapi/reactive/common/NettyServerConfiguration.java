@@ -0,0 +1,17 @@
+package ko.springrestapi.reactive.common;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 테스트 클래스패스에는 MVC 와 비교하려고 Tomcat 이 있어서 그대로 두면 Tomcat 으로 뜬다. 배포와 같은 Netty 로 띄운다.
+ */
+@TestConfiguration
+public class NettyServerConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
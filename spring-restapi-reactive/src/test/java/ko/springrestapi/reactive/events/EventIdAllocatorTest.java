@@ -0,0 +1,65 @@
+package ko.springrestapi.reactive.events;
+
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventIdAllocatorTest {
+
+    private DatabaseClient databaseClient;
+
+    @Before
+    public void setUp() {
+        // Hibernate 가 만드는 것과 같은 새 시퀀스
+        this.databaseClient = DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1"));
+        this.databaseClient.execute("create sequence event_seq start with 1 increment by 50")
+                .fetch().rowsUpdated().block();
+    }
+
+    @Test
+    @Description("새 시퀀스의 첫 값을 받으면 Hibernate 처럼 한 번 더 받아서 [1 .. 51] 을 쓴다")
+    public void next_initialValue() {
+        //Given
+        EventIdAllocator eventIdAllocator = new EventIdAllocator(this.databaseClient);
+
+        //When
+        Integer first = eventIdAllocator.next().block();
+        Integer last = null;
+        for (int i = 1; i < EventIdAllocator.ALLOCATION_SIZE + 1; i++) {
+            last = eventIdAllocator.next().block();
+        }
+
+        //Then 1 과 51 을 받았으니 Hibernate 는 다음에 101 을 받아 [52 .. 101] 을 쓴다
+        assertThat(first).isEqualTo(1);
+        assertThat(last).isEqualTo(51);
+        assertThat(eventIdAllocator.next().block()).isEqualTo(52);
+        assertThat(nextval()).isEqualTo(151);
+    }
+
+    @Test
+    @Description("첫 값이 아니면 받은 값 hi 로 (hi - 49 .. hi] 를 쓴다")
+    public void next_pooled() {
+        //Given 다른 배포가 이미 첫 구간을 받아 갔다
+        nextval();
+        nextval();
+        EventIdAllocator eventIdAllocator = new EventIdAllocator(this.databaseClient);
+
+        //When & Then
+        assertThat(eventIdAllocator.next().block()).isEqualTo(52);
+        assertThat(eventIdAllocator.next().block()).isEqualTo(53);
+    }
+
+    private Long nextval() {
+        return this.databaseClient.execute("select nextval('event_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+}
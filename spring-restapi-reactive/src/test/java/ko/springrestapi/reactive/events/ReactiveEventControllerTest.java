@@ -0,0 +1,327 @@
+package ko.springrestapi.reactive.events;
+
+import ko.springrestapi.MvcServer;
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.AccountRepository;
+import ko.springrestapi.common.AppProperties;
+import ko.springrestapi.events.Event;
+import ko.springrestapi.events.EventDto;
+import ko.springrestapi.events.EventRepository;
+import ko.springrestapi.events.EventStatus;
+import ko.springrestapi.reactive.common.BaseControllerTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactiveEventControllerTest extends BaseControllerTest {
+
+    private EventRepository eventRepository;
+    private Account user;
+    private Account admin;
+
+    @Before
+    public void setUp() {
+        this.eventRepository = MvcServer.getBean(EventRepository.class);
+        this.eventRepository.deleteAll();
+        AppProperties appProperties = MvcServer.getBean(AppProperties.class);
+        AccountRepository accountRepository = MvcServer.getBean(AccountRepository.class);
+        this.user = accountRepository.findByEmail(appProperties.getUserUsername()).get();
+        this.admin = accountRepository.findByEmail(appProperties.getAdminUsername()).get();
+    }
+
+    @Test
+    @Description("30개의 이벤트를 10개씩 두번째 페이지 조회하기")
+    public void queryEvents() {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        //When & Then
+        this.webTestClient.get().uri("/api/events?page=1&size=10&sort=name,DESC")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaTypes.HAL_JSON)
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("_embedded.eventList.length()").isEqualTo(10)
+                .jsonPath("_embedded.eventList[0].name").isEqualTo("event 26")
+                .jsonPath("_embedded.eventList[0]._links.self").exists()
+                .jsonPath("_links.first.href").value(href -> assertThat((String) href).contains("page=0"))
+                .jsonPath("_links.prev").exists()
+                .jsonPath("_links.self.href").value(href -> assertThat((String) href).contains("page=1&size=10&sort=name,desc"))
+                .jsonPath("_links.next").exists()
+                .jsonPath("_links.last.href").value(href -> assertThat((String) href).contains("page=2"))
+                .jsonPath("_links.profile").exists()
+                .jsonPath("_links.create-event").doesNotExist()
+                .jsonPath("page.totalElements").isEqualTo(30);
+    }
+
+    @Test
+    @Description("인증 정보가 있으면 목록에 이벤트 생성 링크가 붙고, 바뀌지 않았으면 304")
+    public void queryEventsWithAuthentication() {
+        //Given
+        IntStream.range(0, 3).forEach(this::generateEvent);
+
+        //When & Then
+        String eTag = this.webTestClient.get().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("_links.create-event").exists()
+                .returnResult()
+                .getResponseHeaders().getETag();
+
+        this.webTestClient.get().uri("/api/events")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @Description("검색 조건과 지원하지 않는 정렬은 spring-restapi 에서만 받는다")
+    public void queryEvents_Bad_Request() {
+        this.webTestClient.get().uri("/api/events?eventStatus=DRAFT")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get().uri("/api/events?sort=description")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @Description("기존의 이벤트를 하나 조회하기")
+    public void getEvent() {
+        //Given
+        Event event = generateEvent(100);
+
+        //When & Then
+        this.webTestClient.get().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer(user.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody()
+                .jsonPath("name").isEqualTo("event 100")
+                .jsonPath("id").isEqualTo(event.getId())
+                .jsonPath("manager.id").isEqualTo(user.getId())
+                .jsonPath("_links.self").exists()
+                .jsonPath("_links.profile").exists()
+                .jsonPath("_links.update-event").exists();
+
+        this.webTestClient.get().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @Description("없는 이벤트를 조회했을 때 404 응답받기")
+    public void getEvent404() {
+        this.webTestClient.get().uri("/api/events/11883")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Description("이벤트를 만들면 DRAFT 로 저장되고 spring-restapi 가 만든 id 와 겹치지 않는다")
+    public void createEvent() {
+        //Given
+        Event existing = generateEvent(1);
+
+        //When & Then
+        Object id = this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .bodyValue(eventDto("Spring"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.LOCATION)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody()
+                .get("id");
+
+        assertThat(id).isNotEqualTo(existing.getId());
+        assertThat(generateEvent(2).getId()).isNotIn(id, existing.getId());
+        this.webTestClient.get().uri("/api/events/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("free").isEqualTo(false)
+                .jsonPath("offline").isEqualTo(true)
+                .jsonPath("eventStatus").isEqualTo(EventStatus.DRAFT.name())
+                .jsonPath("manager.id").isEqualTo(user.getId());
+    }
+
+    @Test
+    @Description("입력값이 비어 있거나 잘못된 경우에 에러가 발생하는 테스트")
+    public void createEvent_Bad_Request() {
+        this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EventDto())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        EventDto eventDto = eventDto("Spring");
+        eventDto.setBasePrice(10000);
+        eventDto.setMaxPrice(200);
+        this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].objectName").exists()
+                .jsonPath("$[0].defaultMessage").exists()
+                .jsonPath("$[0].code").exists();
+    }
+
+    @Test
+    @Description("토큰 없이 이벤트를 만들면 401")
+    public void createEvent_Unauthorized() {
+        this.webTestClient.post().uri("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto("Spring"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @Description("If-Match 버전이 맞으면 204, 틀리면 412, 관리자가 아니면 401")
+    public void updateEventIfMatch() {
+        //Given
+        Event event = generateEvent(200);
+
+        //When & Then
+        this.webTestClient.put().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer(admin.getId()))
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto("Updated Event"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        this.webTestClient.put().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer(user.getId()))
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto("Updated Event"))
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        this.webTestClient.put().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer(user.getId()))
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto("Stale Event"))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        this.webTestClient.get().uri("/api/events/{id}", event.getId())
+                .exchange()
+                .expectBody()
+                .jsonPath("name").isEqualTo("Updated Event");
+    }
+
+    @Test
+    @Description("If-Match 없이 이벤트를 수정하면 고친 이벤트를 돌려준다")
+    public void updateEvent() {
+        //Given
+        Event event = generateEvent(200);
+
+        //When & Then
+        this.webTestClient.put().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer(user.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .bodyValue(eventDto("Updated Event"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("name").isEqualTo("Updated Event")
+                .jsonPath("_links.self").exists()
+                .jsonPath("_links.profile").exists();
+
+        this.webTestClient.put().uri("/api/events/123456")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto("Updated Event"))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Description("전체 이벤트를 id 순서의 NDJSON 으로 내보낸다")
+    public void exportEvents() {
+        //Given
+        IntStream.range(0, 5).forEach(this::generateEvent);
+
+        //When
+        String body = this.webTestClient.get().uri("/api/events/export")
+                .accept(MediaType.parseMediaType(ReactiveEventController.NDJSON_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        //Then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(5);
+        assertThat(lines[0]).startsWith("{\"id\":").contains("\"name\":\"event 0\"");
+        assertThat(lines[4]).contains("\"name\":\"event 4\"");
+        assertThat(body).endsWith("\n");
+    }
+
+    private Event generateEvent(int index) {
+        return this.eventRepository.save(Event.builder()
+                .name("event " + index)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.DRAFT)
+                .manager(user)
+                .build());
+    }
+
+    private EventDto eventDto(String name) {
+        return EventDto.builder()
+                .name(name)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+    }
+
+}
@@ -0,0 +1,16 @@
+package ko.springrestapi.reactive.index;
+
+import ko.springrestapi.reactive.common.BaseControllerTest;
+import org.junit.Test;
+
+public class ReactiveIndexControllerTest extends BaseControllerTest {
+
+    @Test
+    public void index() {
+        this.webTestClient.get().uri("/api/")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("_links.events").exists();
+    }
+}
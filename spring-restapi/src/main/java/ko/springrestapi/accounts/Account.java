@@ -1,6 +1,8 @@
 package ko.springrestapi.accounts;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 import javax.persistence.*;
@@ -13,6 +15,7 @@ import java.util.Set;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Account {
 
     @Id
@@ -24,8 +27,9 @@ public class Account {
     private String password;
 
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @Enumerated(EnumType.STRING)
+    // 역할 비트마스크 (AccountRole.bit). 예전 account_roles 테이블에서 옮기는 방법은 db/account-roles-to-bitmask.sql
+    @Convert(converter = AccountRolesConverter.class)
+    @Column(nullable = false)
     private Set<AccountRole> roles;
 
 }
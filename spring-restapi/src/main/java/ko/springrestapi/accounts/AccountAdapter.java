@@ -1,27 +1,28 @@
 package ko.springrestapi.accounts;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class AccountAdapter extends User {
 
     private Account account;
 
+    private final Set<GrantedAuthority> authorities;
+
     public AccountAdapter(Account account) {
-        super(account.getEmail(), account.getPassword(), authorities(account.getRoles()));
+        // 권한은 역할 조합마다 미리 만들어 둔 불변 Set 을 쓰므로 User 에는 넘기지 않는다
+        super(account.getEmail(), account.getPassword(), Collections.emptySet());
         this.account = account;
+        this.authorities = AccountRoles.authorities(account.getRoles());
     }
 
-    private static Collection<? extends GrantedAuthority> authorities(Set<AccountRole> roles) {
-        return roles.stream()
-                .map(r -> new SimpleGrantedAuthority("ROLE" + r.name()))
-                .collect(Collectors.toSet());
-
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
     }
 
     public Account getAccount() {
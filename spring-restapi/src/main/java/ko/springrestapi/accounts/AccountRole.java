@@ -1,5 +1,26 @@
 package ko.springrestapi.accounts;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 public enum AccountRole {
-    ADMIN, USER
+    // bit 는 account.roles 컬럼에 저장되는 값이라 순서를 바꾸거나 기존 값을 바꾸면 안 된다
+    ADMIN(1), USER(1 << 1);
+
+    private final int bit;
+
+    AccountRole(int bit) {
+        this.bit = bit;
+    }
+
+    public int bit() {
+        return bit;
+    }
+
+    /** 모르는 이름이면 비어 있다. 토큰에 이 서버가 모르는 역할이 실려 와도 예외 없이 건너뛰기 위해 쓴다 */
+    public static Optional<AccountRole> fromName(String name) {
+        return Arrays.stream(values())
+                .filter(role -> role.name().equals(name))
+                .findFirst();
+    }
 }
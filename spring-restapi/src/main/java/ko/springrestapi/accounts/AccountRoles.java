@@ -0,0 +1,84 @@
+package ko.springrestapi.accounts;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 역할 조합을 비트마스크로 다룬다. 조합의 수가 적으므로 (2^역할 수) 조합마다 역할 Set 과
+ * 권한 Set 을 미리 만들어 두고 모든 계정이 같은 불변 객체를 나눠 쓴다.
+ */
+final class AccountRoles {
+
+    private static final AccountRole[] ROLES = AccountRole.values();
+    private static final int ALL = allBits();
+
+    private static final Set<AccountRole>[] ROLE_SETS = roleSets();
+    private static final Set<GrantedAuthority>[] AUTHORITY_SETS = authoritySets();
+
+    private AccountRoles() {
+    }
+
+    static int toMask(Set<AccountRole> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (AccountRole role : roles) {
+                mask |= role.bit();
+            }
+        }
+        return mask;
+    }
+
+    /** 알 수 없는 비트는 무시한다 */
+    static Set<AccountRole> fromMask(int mask) {
+        return ROLE_SETS[index(mask)];
+    }
+
+    static Set<GrantedAuthority> authorities(Set<AccountRole> roles) {
+        return AUTHORITY_SETS[index(toMask(roles))];
+    }
+
+    private static int index(int mask) {
+        return mask & ALL;
+    }
+
+    private static int allBits() {
+        int bits = 0;
+        for (AccountRole role : ROLES) {
+            bits |= role.bit();
+        }
+        return bits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<AccountRole>[] roleSets() {
+        Set<AccountRole>[] sets = new Set[ALL + 1];
+        for (int mask = 0; mask < sets.length; mask++) {
+            EnumSet<AccountRole> roles = EnumSet.noneOf(AccountRole.class);
+            for (AccountRole role : ROLES) {
+                if ((mask & role.bit()) != 0) {
+                    roles.add(role);
+                }
+            }
+            sets[mask] = Collections.unmodifiableSet(roles);
+        }
+        return sets;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<GrantedAuthority>[] authoritySets() {
+        Set<GrantedAuthority>[] sets = new Set[ROLE_SETS.length];
+        for (int i = 0; i < sets.length; i++) {
+            Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+            for (AccountRole role : ROLE_SETS[i]) {
+                authorities.add(new SimpleGrantedAuthority("ROLE" + role.name()));
+            }
+            sets[i] = Collections.unmodifiableSet(authorities);
+        }
+        return sets;
+    }
+}
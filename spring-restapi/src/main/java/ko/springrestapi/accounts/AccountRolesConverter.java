@@ -0,0 +1,23 @@
+package ko.springrestapi.accounts;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.Set;
+
+/**
+ * Account.roles 를 account 테이블의 정수 컬럼 하나 (역할 비트마스크) 로 저장한다.
+ * 읽을 때는 조합마다 미리 만들어 둔 불변 Set 을 돌려준다.
+ */
+@Converter
+public class AccountRolesConverter implements AttributeConverter<Set<AccountRole>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<AccountRole> roles) {
+        return AccountRoles.toMask(roles);
+    }
+
+    @Override
+    public Set<AccountRole> convertToEntityAttribute(Integer mask) {
+        return AccountRoles.fromMask(mask == null ? 0 : mask);
+    }
+}
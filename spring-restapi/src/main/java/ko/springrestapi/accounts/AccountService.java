@@ -1,6 +1,8 @@
 package ko.springrestapi.accounts;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -11,6 +13,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -24,18 +27,50 @@ public class AccountService implements UserDetailsService {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    CacheManager cacheManager;
+
+    static final String ACCOUNTS_BY_EMAIL = "accountsByEmail";
+
     public Account saveAccount(Account account) {
         account.setPassword(this.passwordEncoder.encode(account.getPassword()));
-        return this.accountRepository.save(account);
+        if (account.getId() != null) {
+            // 이메일이 바뀌는 경우를 위해 예전 이메일 항목도 지운다
+            this.accountRepository.findById(account.getId())
+                    .ifPresent(previous -> accountCache().evict(normalize(previous.getEmail())));
+        }
+        Account saved = this.accountRepository.save(account);
+        accountCache().evict(normalize(saved.getEmail()));
+        return saved;
     }
 
+    /**
+     * 계정은 정규화한 이메일로 ehcache 의 accountsByEmail 에 잠깐 담아 둔다 (크기, TTL 은 ehcache.xml).
+     * 캐시에는 AccountAdapter 가 아니라 Account 를 둔다. 인증이 끝나면 ProviderManager 가
+     * principal 의 비밀번호를 지우기 때문에 AccountAdapter 를 공유하면 다음 로그인이 실패한다.
+     * 대소문자만 다른 이메일은 같은 칸을 쓰지만, 로그인 자체는 지금처럼 이메일이 정확히 같아야 한다.
+     * 계정을 바꿀 때는 saveAccount 를 거쳐야 캐시에서 빠진다.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Account account = accountRepository.findByEmail(username)
-                .orElseThrow(()->new UsernameNotFoundException(username));
+        String key = normalize(username);
+        Account account = accountCache().get(key, Account.class);
+        if (account == null || !account.getEmail().equals(username)) {
+            account = accountRepository.findByEmail(username)
+                    .orElseThrow(() -> new UsernameNotFoundException(username));
+            accountCache().put(key, account);
+        }
         return new AccountAdapter(account);
     }
 
+    private Cache accountCache() {
+        return cacheManager.getCache(ACCOUNTS_BY_EMAIL);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
     private Collection<?extends GrantedAuthority> authorities(Set<AccountRole> roles) {
         return roles.stream()
                 .map(r -> new SimpleGrantedAuthority("ROLE" + r.name()))
@@ -0,0 +1,53 @@
+package ko.springrestapi.accounts;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.provider.token.DefaultUserAuthenticationConverter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWT 에 계정 id 를 같이 싣고, 읽을 때는 DB 조회 없이 클레임만으로 AccountAdapter 를 다시 만든다.
+ * 역할은 authorities 클레임 ("ROLE" + 역할 이름) 에서 되돌리고, {@link AccountRole} 에 없는 이름은 무시한다.
+ */
+public class AccountUserAuthenticationConverter extends DefaultUserAuthenticationConverter {
+
+    static final String ACCOUNT_ID = "account_id";
+
+    private static final String ROLE_PREFIX = "ROLE";
+
+    @Override
+    public Map<String, ?> convertUserAuthentication(Authentication authentication) {
+        Map<String, Object> response = new LinkedHashMap<>(super.convertUserAuthentication(authentication));
+        if (authentication.getPrincipal() instanceof AccountAdapter) {
+            response.put(ACCOUNT_ID, ((AccountAdapter) authentication.getPrincipal()).getAccount().getId());
+        }
+        return response;
+    }
+
+    @Override
+    public Authentication extractAuthentication(Map<String, ?> map) {
+        Authentication authentication = super.extractAuthentication(map);
+        if (authentication == null || !(map.get(ACCOUNT_ID) instanceof Number)) {
+            return authentication;
+        }
+
+        int roles = 0;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name.startsWith(ROLE_PREFIX)) {
+                roles |= AccountRole.fromName(name.substring(ROLE_PREFIX.length())).map(AccountRole::bit).orElse(0);
+            }
+        }
+        Account account = Account.builder()
+                .id(((Number) map.get(ACCOUNT_ID)).intValue())
+                .email(authentication.getName())
+                .password("")
+                .roles(AccountRoles.fromMask(roles))
+                .build();
+        return new UsernamePasswordAuthenticationToken(new AccountAdapter(account), "N/A",
+                authentication.getAuthorities());
+    }
+}
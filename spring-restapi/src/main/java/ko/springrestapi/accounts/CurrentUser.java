@@ -1,15 +1,16 @@
 package ko.springrestapi.accounts;
 
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * 로그인한 사용자의 Account 를 받는다. 익명 사용자면 null.
+ * SpEL 을 쓰는 @AuthenticationPrincipal 대신 {@link CurrentUserArgumentResolver} 가 처리한다.
+ */
 @Target(ElementType.PARAMETER)
 @Retention(RetentionPolicy.RUNTIME)
-@AuthenticationPrincipal(expression = "#this =='anonymousUser' ? null : account")
 public @interface CurrentUser {
 
 }
@@ -0,0 +1,33 @@
+package ko.springrestapi.accounts;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link CurrentUser} Account 파라미터를 SecurityContext 의 principal 에서 바로 꺼낸다.
+ * 예전 @AuthenticationPrincipal(expression = "#this =='anonymousUser' ? null : account") 와 같은 결과지만
+ * 요청마다 SpEL 을 파싱하고 평가하지 않는다. principal 이 AccountAdapter 가 아니면 (익명 사용자 등) null 이다.
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && parameter.getParameterType().isAssignableFrom(Account.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AccountAdapter)) {
+            return null;
+        }
+        return ((AccountAdapter) authentication.getPrincipal()).getAccount();
+    }
+}
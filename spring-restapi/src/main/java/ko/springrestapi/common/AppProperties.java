@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.validation.constraints.NotEmpty;
+import java.time.Duration;
 
 @Component
 @ConfigurationProperties(prefix = "my-app")
@@ -25,6 +26,27 @@ public class AppProperties {
     @NotEmpty
     private String clientSecret;
 
+    private int tokenStoreShards = 16;
+
+    private int tokenStoreMaximumSize = 100_000;
+
+    /** store: 메모리 토큰 저장소, jwt: 서명한 JWT */
+    private String tokenMode = "store";
+
+    private String tokenSigningKey;
+
+    /** 비밀번호 해시 스레드 수. 0 이면 CPU 코어 수 */
+    private int passwordHashingThreads = 0;
+
+    /** 해시 스레드를 기다릴 수 있는 요청 수. 넘치면 바로 거절한다 */
+    private int passwordHashingQueueCapacity = 64;
+
+    /** 등록 시작 시각이 지난 이벤트를 BEGAN_ENROLLMENT 로 바꾸는 스케줄러를 돌릴지 (SchedulingConfig) */
+    private boolean eventStatusScheduler = true;
+
+    /** Event 2차 캐시 TTL. 없으면 ehcache.xml 의 10분, 0 이면 캐시하지 않는다 (CacheConfig) */
+    private Duration eventCacheTtl;
+
 
 }
 
@@ -0,0 +1,61 @@
+package ko.springrestapi.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import java.time.Duration;
+
+/**
+ * 서명을 확인하고 클레임을 읽은 결과를 토큰 값으로 캐시하는 JwtTokenStore.
+ * 같은 토큰으로 다시 요청하면 서명 확인과 JSON 파싱 없이 캐시에서 꺼낸다.
+ * 만료 시각은 꺼낸 토큰에 그대로 남아 있어 DefaultTokenServices 가 계속 확인한다.
+ */
+public class CachingJwtTokenStore extends JwtTokenStore implements MeterBinder {
+
+    private final Cache<String, OAuth2AccessToken> accessTokens;
+    private final Cache<String, OAuth2Authentication> authentications;
+
+    public CachingJwtTokenStore(JwtAccessTokenConverter jwtTokenEnhancer, long maximumSize, Duration expireAfterWrite) {
+        super(jwtTokenEnhancer);
+        this.accessTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.authentications = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        return accessTokens.get(tokenValue, super::readAccessToken);
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        return authentications.get(token, super::readAuthentication);
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        super.removeAccessToken(token);
+        accessTokens.invalidate(token.getValue());
+        authentications.invalidate(token.getValue());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, accessTokens, "jwt.access-tokens");
+        CaffeineCacheMetrics.monitor(registry, authentications, "jwt.authentications");
+    }
+}
@@ -0,0 +1,76 @@
+package ko.springrestapi.common;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Optional;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Object value) {
+        return "\"" + value + "\"";
+    }
+
+    /**
+     * If-None-Match 헤더 값에 주어진 ETag 가 들어 있는지 약한 비교로 본다 (RFC 7232 3.2).
+     * 목록(콤마 구분), 와일드카드(*), W/ 접두사를 처리한다.
+     */
+    public static boolean matches(String header, String eTag) {
+        if (!StringUtils.hasText(header)) {
+            return false;
+        }
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(header)) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || strip(candidate).equals(strip(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Match 헤더 값에 주어진 ETag 가 들어 있는지 강한 비교로 본다 (RFC 7232 3.1).
+     * 약한 ETag 는 어느 쪽이든 맞지 않는다. 목록과 와일드카드(*)는 {@link #matches} 와 같다.
+     */
+    public static boolean strongMatches(String header, String eTag) {
+        if (!StringUtils.hasText(header) || isWeak(eTag)) {
+            return false;
+        }
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(header)) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Match 헤더가 버전 ETag ({@link #of} 로 만든 강한 ETag) 하나뿐이면 그 버전.
+     * 목록, 와일드카드, 약한 ETag, 숫자가 아닌 값이면 비어 있다.
+     */
+    public static Optional<Long> version(String header) {
+        if (header == null) {
+            return Optional.empty();
+        }
+        String eTag = header.trim();
+        if (eTag.length() < 3 || eTag.charAt(0) != '"' || eTag.charAt(eTag.length() - 1) != '"') {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(eTag.substring(1, eTag.length() - 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String strip(String eTag) {
+        return isWeak(eTag) ? eTag.substring(2) : eTag;
+    }
+
+    private static boolean isWeak(String eTag) {
+        return eTag.startsWith("W/");
+    }
+}
@@ -1,19 +0,0 @@
-package ko.springrestapi.common;
-
-import ko.springrestapi.index.IndexController;
-import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.Link;
-import org.springframework.hateoas.server.mvc.ControllerLinkBuilder;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
-import org.springframework.validation.Errors;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
-public class ErrorResource extends EntityModel<Errors> {
-    public ErrorResource(Errors content, Link... links) {
-        super(content, links);
-        add(linkTo(methodOn(IndexController.class).index()).withRel("index"));
-
-    }
-
-}
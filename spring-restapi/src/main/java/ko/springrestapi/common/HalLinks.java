@@ -0,0 +1,99 @@
+package ko.springrestapi.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.Links;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HAL 모듈 (HalLinkListSerializer) 과 같은 모양으로 _links 를 직접 쓴다.
+ * rel 은 처음 나온 순서대로 쓰고, rel 에 링크가 하나면 객체, 여럿이면 배열로 쓴다.
+ * 링크 속성은 Link 의 필드 순서 (href, hreflang, title, type, deprecation, profile, name, templated) 대로
+ * 값이 있는 것만 쓴다. curie 와 HalConfiguration 설정은 쓰지 않는다는 전제다.
+ */
+public final class HalLinks {
+
+    private static final SerializedString LINKS = new SerializedString("_links");
+    private static final SerializedString HREF = new SerializedString("href");
+    private static final SerializedString HREFLANG = new SerializedString("hreflang");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString DEPRECATION = new SerializedString("deprecation");
+    private static final SerializedString PROFILE = new SerializedString("profile");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString TEMPLATED = new SerializedString("templated");
+
+    private HalLinks() {
+    }
+
+    /**
+     * 링크가 있으면 "_links" 필드를 쓴다. 없으면 HAL 모듈처럼 필드를 생략한다.
+     */
+    public static void writeLinksField(Links links, JsonGenerator gen) throws IOException {
+        if (links.isEmpty()) {
+            return;
+        }
+        List<Link> all = new ArrayList<>(links.toList());
+        gen.writeFieldName(LINKS);
+        gen.writeStartObject();
+        for (int i = 0; i < all.size(); i++) {
+            Link link = all.get(i);
+            if (link == null) {
+                continue;
+            }
+            LinkRelation rel = link.getRel();
+            int sameRel = 0;
+            for (int j = i + 1; j < all.size(); j++) {
+                if (all.get(j) != null && rel.isSameAs(all.get(j).getRel())) {
+                    sameRel++;
+                }
+            }
+
+            gen.writeFieldName(rel.value());
+            if (sameRel == 0) {
+                writeLink(link, gen);
+                continue;
+            }
+            gen.writeStartArray();
+            writeLink(link, gen);
+            for (int j = i + 1; j < all.size(); j++) {
+                Link other = all.get(j);
+                if (other != null && rel.isSameAs(other.getRel())) {
+                    writeLink(other, gen);
+                    all.set(j, null);
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeLink(Link link, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        writeStringIfPresent(gen, HREF, link.getHref());
+        writeStringIfPresent(gen, HREFLANG, link.getHreflang());
+        writeStringIfPresent(gen, TITLE, link.getTitle());
+        writeStringIfPresent(gen, TYPE, link.getType());
+        writeStringIfPresent(gen, DEPRECATION, link.getDeprecation());
+        writeStringIfPresent(gen, PROFILE, link.getProfile());
+        writeStringIfPresent(gen, NAME, link.getName());
+        if (link.isTemplated()) {
+            gen.writeFieldName(TEMPLATED);
+            gen.writeBoolean(true);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeStringIfPresent(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ko.springrestapi.common;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * 여러 노드 중 한 곳에서만 돌아야 하는 작업의 임대 행. expiresAt 이 지나기 전에 owner 가 갱신하지 않으면
+ * 다른 노드가 가져간다. 갱신과 인수는 모두 LeaseRepository.renew 의 조건부 UPDATE 한 번이고,
+ * 처음 만들 때는 LeaseRepository.insert 로 INSERT 해서 기본 키가 한 노드만 통과시킨다.
+ */
+@AllArgsConstructor @NoArgsConstructor
+@Getter @Setter @EqualsAndHashCode(of = "name")
+@Entity
+@Table(name = "scheduler_lease")
+public class Lease {
+
+    @Id
+    private String name;
+
+    private String owner;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,24 @@
+package ko.springrestapi.common;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface LeaseRepository extends JpaRepository<Lease, String>, LeaseRepositoryCustom {
+
+    /** 내가 가진 임대거나 만료된 임대면 expiresAt 까지 가져간다. 가져갔으면 1 */
+    @Transactional
+    @Modifying
+    @Query("update Lease l set l.owner = :owner, l.expiresAt = :expiresAt "
+            + "where l.name = :name and (l.owner = :owner or l.expiresAt <= :now)")
+    int renew(String name, String owner, LocalDateTime now, LocalDateTime expiresAt);
+
+    /** 내가 가진 임대를 바로 만료시켜 다른 노드가 기다리지 않고 가져가게 한다 */
+    @Transactional
+    @Modifying
+    @Query("update Lease l set l.expiresAt = :now where l.name = :name and l.owner = :owner")
+    int release(String name, String owner, LocalDateTime now);
+}
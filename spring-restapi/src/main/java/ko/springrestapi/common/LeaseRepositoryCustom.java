@@ -0,0 +1,10 @@
+package ko.springrestapi.common;
+
+public interface LeaseRepositoryCustom {
+
+    /**
+     * 임대 행을 새로 만든다. save 와 달리 merge 하지 않고 항상 INSERT 하므로,
+     * 이미 있으면 기존 행을 덮어쓰지 않고 DataIntegrityViolationException 으로 실패한다.
+     */
+    void insert(Lease lease);
+}
@@ -0,0 +1,19 @@
+package ko.springrestapi.common;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class LeaseRepositoryImpl implements LeaseRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void insert(Lease lease) {
+        entityManager.persist(lease);
+        entityManager.flush();
+    }
+}
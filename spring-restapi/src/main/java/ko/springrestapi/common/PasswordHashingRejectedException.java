@@ -0,0 +1,14 @@
+package ko.springrestapi.common;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * 비밀번호 해시 풀이 가득 차 요청을 받지 못할 때 던진다.
+ * InternalAuthenticationServiceException 이라서 ProviderManager 가 다른 provider 로 넘기지 않고 바로 실패한다.
+ */
+public class PasswordHashingRejectedException extends InternalAuthenticationServiceException {
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,54 @@
+package ko.springrestapi.common;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * 컨트롤러 링크를 요청마다 한 번만 계산한다.
+ * linkTo(...) 는 호출할 때마다 현재 요청에서 호스트와 X-Forwarded-* 헤더를 읽고 매핑을 찾아 URI 를 조립하므로,
+ * 목록 응답처럼 같은 base URI 로 링크를 여러 개 만들 때는 처음 계산한 href 를 요청 속성에 두고
+ * 뒤에 붙는 id 만 이어 붙인다. 요청이 없는 곳 (테스트 등) 에서는 캐시하지 않고 매번 계산한다.
+ */
+public final class RequestLinks {
+
+    private static final String ATTRIBUTE_PREFIX = RequestLinks.class.getName() + ".";
+
+    private RequestLinks() {
+    }
+
+    /** linkTo(controller) 의 href */
+    public static String baseUri(Class<?> controller) {
+        return href(controller.getName(), () -> WebMvcLinkBuilder.linkTo(controller).toUri().toString());
+    }
+
+    public static Link linkTo(Class<?> controller, LinkRelation rel) {
+        return Link.of(baseUri(controller), rel);
+    }
+
+    /** linkTo(controller).slash(id) 와 같은 링크 */
+    public static Link linkTo(Class<?> controller, Object id, LinkRelation rel) {
+        return Link.of(baseUri(controller) + "/" + id, rel);
+    }
+
+    /**
+     * key 로 구분되는 href 를 현재 요청 안에서 한 번만 만든다.
+     */
+    public static String href(String key, Supplier<String> href) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return href.get();
+        }
+        String name = ATTRIBUTE_PREFIX + key;
+        String cached = (String) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        if (cached == null) {
+            cached = href.get();
+            attributes.setAttribute(name, cached, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,512 @@
+package ko.springrestapi.common;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.oauth2.common.ExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.DefaultAuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * InMemoryTokenStore 를 대신하는 메모리 토큰 저장소.
+ * <ul>
+ *     <li>상태를 키 해시로 샤드에 나눠 담는다. 토큰 읽기는 ConcurrentHashMap 에서 락 없이 하고,
+ *     쓰기만 샤드 락을 잡는다. 한 번에 샤드 락 하나만 잡는다.</li>
+ *     <li>만료는 샤드마다 둔 {@link TimingWheel} 로 처리하고, 샤드 락을 잡을 때 지난 시간만큼만 진행시킨다.
+ *     전체를 훑는 flush 가 없다. 읽기만 하는 동안 만료된 토큰은 InMemoryTokenStore 처럼 그대로 돌려주고,
+ *     DefaultTokenServices 가 만료를 확인해 지운다.</li>
+ *     <li>샤드마다 담을 수 있는 토큰 수가 정해져 있고, 넘치면 가장 먼저 들어온 토큰부터 내보낸다.</li>
+ * </ul>
+ * 액세스 토큰은 토큰 값의 샤드에, 인증 키와 리프레시 토큰으로 찾는 인덱스는 각 키의 샤드에 둔다.
+ * 토큰이 빠지면 다른 샤드의 인덱스는 락을 푼 뒤에 정리한다.
+ * findTokensByClientId(AndUserName) 은 드물게 쓰이므로 인덱스 없이 모든 샤드를 훑는다.
+ */
+public class ShardedTokenStore implements TokenStore, MeterBinder {
+
+    static final long TICK_MILLIS = 1000;
+
+    private final Shard[] shards;
+    private final int mask;
+    private final Clock clock;
+    private final AuthenticationKeyGenerator authenticationKeyGenerator = new DefaultAuthenticationKeyGenerator();
+
+    private final LongAdder lockAcquired = new LongAdder();
+    private final LongAdder lockContended = new LongAdder();
+    private final LongAdder expiredAccessTokens = new LongAdder();
+    private final LongAdder expiredRefreshTokens = new LongAdder();
+    private final LongAdder evictedAccessTokens = new LongAdder();
+    private final LongAdder evictedRefreshTokens = new LongAdder();
+
+    public ShardedTokenStore(int shardCount, int maximumSize) {
+        this(shardCount, maximumSize, Clock.systemUTC());
+    }
+
+    ShardedTokenStore(int shardCount, int maximumSize, Clock clock) {
+        int count = 1;
+        while (count < shardCount) {
+            count <<= 1;
+        }
+        int capacity = Math.max(1, (maximumSize + count - 1) / count);
+        this.clock = clock;
+        this.mask = count - 1;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            this.shards[i] = new Shard(capacity, clock.millis());
+        }
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+        return readAuthentication(token.getValue());
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        AccessEntry entry = readAccessEntry(token);
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        String value = token.getValue();
+        AccessEntry entry = new AccessEntry(token, authentication, authenticationKeyGenerator.extractKey(authentication));
+
+        Shard shard = lock(value);
+        try {
+            shard.putAccessToken(entry);
+        } finally {
+            unlock(shard);
+        }
+
+        shard = lock(entry.authenticationKey);
+        try {
+            shard.accessByAuthenticationKey.put(entry.authenticationKey, value);
+        } finally {
+            unlock(shard);
+        }
+
+        if (entry.refreshToken != null) {
+            shard = lock(entry.refreshToken);
+            try {
+                shard.accessByRefreshToken.put(entry.refreshToken, value);
+            } finally {
+                unlock(shard);
+            }
+        }
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        AccessEntry entry = readAccessEntry(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        removeAccessToken(token.getValue());
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        Shard shard = lock(refreshToken.getValue());
+        try {
+            shard.putRefreshToken(new RefreshEntry(refreshToken, authentication));
+        } finally {
+            unlock(shard);
+        }
+    }
+
+    @Override
+    public OAuth2RefreshToken readRefreshToken(String tokenValue) {
+        RefreshEntry entry = readRefreshEntry(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public OAuth2Authentication readAuthenticationForRefreshToken(OAuth2RefreshToken token) {
+        RefreshEntry entry = readRefreshEntry(token.getValue());
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public void removeRefreshToken(OAuth2RefreshToken token) {
+        String value = token.getValue();
+        Shard shard = lock(value);
+        try {
+            RefreshEntry entry = shard.refreshTokens.remove(value);
+            if (entry != null) {
+                shard.forget(entry);
+            }
+            shard.accessByRefreshToken.remove(value);
+        } finally {
+            unlock(shard);
+        }
+    }
+
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+        String accessToken;
+        Shard shard = lock(refreshToken.getValue());
+        try {
+            accessToken = shard.accessByRefreshToken.remove(refreshToken.getValue());
+        } finally {
+            unlock(shard);
+        }
+        if (accessToken != null) {
+            removeAccessToken(accessToken);
+        }
+    }
+
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        String key = authenticationKeyGenerator.extractKey(authentication);
+        String value;
+        Shard shard = lock(key);
+        try {
+            value = shard.accessByAuthenticationKey.get(key);
+        } finally {
+            unlock(shard);
+        }
+        if (value == null) {
+            return null;
+        }
+
+        AccessEntry entry = readAccessEntry(value);
+        if (entry == null) {
+            unlinkAuthenticationKey(key, value);
+            return null;
+        }
+        if (!key.equals(entry.authenticationKey)) {
+            // InMemoryTokenStore 와 같이 인증 정보가 바뀌었으면 새 인증으로 다시 저장한다
+            storeAccessToken(entry.token, authentication);
+        }
+        return entry.token;
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientIdAndUserName(String clientId, String userName) {
+        return findTokens(authentication -> !authentication.isClientOnly()
+                && clientId.equals(authentication.getOAuth2Request().getClientId())
+                && userName.equals(authentication.getName()));
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientId(String clientId) {
+        return findTokens(authentication -> clientId.equals(authentication.getOAuth2Request().getClientId()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("oauth2.token.store.lock.acquired", lockAcquired, LongAdder::sum)
+                .description("Shard lock acquisitions")
+                .register(registry);
+        FunctionCounter.builder("oauth2.token.store.lock.contended", lockContended, LongAdder::sum)
+                .description("Shard lock acquisitions that had to wait for another thread")
+                .register(registry);
+        FunctionCounter.builder("oauth2.token.store.expired", expiredAccessTokens, LongAdder::sum)
+                .tag("type", "access")
+                .register(registry);
+        FunctionCounter.builder("oauth2.token.store.expired", expiredRefreshTokens, LongAdder::sum)
+                .tag("type", "refresh")
+                .register(registry);
+        FunctionCounter.builder("oauth2.token.store.evicted", evictedAccessTokens, LongAdder::sum)
+                .description("Tokens dropped because their shard was full")
+                .tag("type", "access")
+                .register(registry);
+        FunctionCounter.builder("oauth2.token.store.evicted", evictedRefreshTokens, LongAdder::sum)
+                .description("Tokens dropped because their shard was full")
+                .tag("type", "refresh")
+                .register(registry);
+        Gauge.builder("oauth2.token.store.size", this, ShardedTokenStore::accessTokenCount)
+                .tag("type", "access")
+                .register(registry);
+        Gauge.builder("oauth2.token.store.size", this, ShardedTokenStore::refreshTokenCount)
+                .tag("type", "refresh")
+                .register(registry);
+    }
+
+    int accessTokenCount() {
+        return count(shard -> shard.accessTokens.size());
+    }
+
+    int refreshTokenCount() {
+        return count(shard -> shard.refreshTokens.size());
+    }
+
+    long contendedCount() {
+        return lockContended.sum();
+    }
+
+    long expiredAccessTokenCount() {
+        return expiredAccessTokens.sum();
+    }
+
+    long evictedAccessTokenCount() {
+        return evictedAccessTokens.sum();
+    }
+
+    private int count(ToIntFunction<Shard> size) {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += size.applyAsInt(shard);
+        }
+        return count;
+    }
+
+    private AccessEntry readAccessEntry(String value) {
+        return shardFor(value).accessTokens.get(value);
+    }
+
+    private RefreshEntry readRefreshEntry(String value) {
+        return shardFor(value).refreshTokens.get(value);
+    }
+
+    private void removeAccessToken(String value) {
+        Shard shard = lock(value);
+        try {
+            AccessEntry entry = shard.accessTokens.remove(value);
+            if (entry != null) {
+                shard.forget(entry);
+                shard.removed.add(entry);
+            }
+        } finally {
+            unlock(shard);
+        }
+    }
+
+    private Collection<OAuth2AccessToken> findTokens(Predicate<OAuth2Authentication> predicate) {
+        List<OAuth2AccessToken> tokens = new ArrayList<>();
+        for (Shard shard : shards) {
+            for (AccessEntry entry : shard.accessTokens.values()) {
+                if (predicate.test(entry.authentication)) {
+                    tokens.add(entry.token);
+                }
+            }
+        }
+        return Collections.unmodifiableCollection(tokens);
+    }
+
+    /**
+     * 빠진 액세스 토큰을 가리키던 인덱스를 지운다. 그 사이 같은 키에 새 토큰이 들어왔으면 그대로 둔다.
+     */
+    private void unlinkIndexes(AccessEntry entry) {
+        String value = entry.token.getValue();
+        unlinkAuthenticationKey(entry.authenticationKey, value);
+        if (entry.refreshToken != null) {
+            Shard shard = lock(entry.refreshToken);
+            try {
+                shard.accessByRefreshToken.remove(entry.refreshToken, value);
+            } finally {
+                unlock(shard);
+            }
+        }
+    }
+
+    private void unlinkAuthenticationKey(String key, String value) {
+        Shard shard = lock(key);
+        try {
+            shard.accessByAuthenticationKey.remove(key, value);
+        } finally {
+            unlock(shard);
+        }
+    }
+
+    private Shard shardFor(String key) {
+        int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private Shard lock(String key) {
+        Shard shard = shardFor(key);
+        lock(shard);
+        return shard;
+    }
+
+    private void lock(Shard shard) {
+        lockAcquired.increment();
+        if (!shard.lock.tryLock()) {
+            lockContended.increment();
+            shard.lock.lock();
+        }
+        shard.expiries.advance(clock.millis(), shard::expire);
+    }
+
+    private void unlock(Shard shard) {
+        List<AccessEntry> removed = Collections.emptyList();
+        if (!shard.removed.isEmpty()) {
+            removed = new ArrayList<>(shard.removed);
+            shard.removed.clear();
+        }
+        shard.lock.unlock();
+        for (AccessEntry entry : removed) {
+            unlinkIndexes(entry);
+        }
+    }
+
+    private static <V> Map<String, V> boundedMap(int capacity) {
+        return new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    private final class Shard {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final int capacity;
+        final Map<String, AccessEntry> accessTokens = new ConcurrentHashMap<>();
+        final Map<String, RefreshEntry> refreshTokens = new ConcurrentHashMap<>();
+        final Map<String, String> accessByAuthenticationKey;
+        final Map<String, String> accessByRefreshToken;
+        final TimingWheel<Entry> expiries;
+
+        /** 넘칠 때 내보낼 순서. 쓰기 락 안에서만 고친다 */
+        final Entry accessOrder = new Entry();
+        final Entry refreshOrder = new Entry();
+
+        /** 이 샤드에서 빠졌고, 락을 푼 뒤 다른 샤드의 인덱스를 정리해야 하는 액세스 토큰 */
+        final List<AccessEntry> removed = new ArrayList<>();
+
+        Shard(int capacity, long nowMillis) {
+            this.capacity = capacity;
+            this.accessByAuthenticationKey = boundedMap(capacity);
+            this.accessByRefreshToken = boundedMap(capacity);
+            this.expiries = new TimingWheel<>(TICK_MILLIS, nowMillis);
+        }
+
+        void putAccessToken(AccessEntry entry) {
+            Date expiration = entry.token.getExpiration();
+            if (expiration != null) {
+                entry.expiry = expiries.schedule(entry, expiration.getTime());
+            }
+            entry.linkBefore(accessOrder);
+            AccessEntry previous = accessTokens.put(entry.token.getValue(), entry);
+            if (previous != null) {
+                forget(previous);
+                removed.add(previous);
+            }
+            while (accessTokens.size() > capacity) {
+                AccessEntry evicted = (AccessEntry) accessOrder.after;
+                accessTokens.remove(evicted.token.getValue(), evicted);
+                forget(evicted);
+                removed.add(evicted);
+                evictedAccessTokens.increment();
+            }
+        }
+
+        void putRefreshToken(RefreshEntry entry) {
+            if (entry.token instanceof ExpiringOAuth2RefreshToken) {
+                Date expiration = ((ExpiringOAuth2RefreshToken) entry.token).getExpiration();
+                if (expiration != null) {
+                    entry.expiry = expiries.schedule(entry, expiration.getTime());
+                }
+            }
+            entry.linkBefore(refreshOrder);
+            RefreshEntry previous = refreshTokens.put(entry.token.getValue(), entry);
+            if (previous != null) {
+                forget(previous);
+            }
+            while (refreshTokens.size() > capacity) {
+                RefreshEntry evicted = (RefreshEntry) refreshOrder.after;
+                refreshTokens.remove(evicted.token.getValue(), evicted);
+                forget(evicted);
+                accessByRefreshToken.remove(evicted.token.getValue());
+                evictedRefreshTokens.increment();
+            }
+        }
+
+        void forget(Entry entry) {
+            expiries.cancel(entry.expiry);
+            entry.unlink();
+        }
+
+        void expire(Entry expired) {
+            expired.unlink();
+            if (expired instanceof AccessEntry) {
+                AccessEntry entry = (AccessEntry) expired;
+                if (accessTokens.remove(entry.token.getValue(), entry)) {
+                    removed.add(entry);
+                    expiredAccessTokens.increment();
+                }
+            } else {
+                RefreshEntry entry = (RefreshEntry) expired;
+                String value = entry.token.getValue();
+                if (refreshTokens.remove(value, entry)) {
+                    accessByRefreshToken.remove(value);
+                    expiredRefreshTokens.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * 샤드 안의 넣은 순서 목록에 직접 걸리는 항목. 헤드로 쓸 때는 자기 자신을 가리키는 빈 항목을 만든다.
+     */
+    private static class Entry {
+
+        Entry before = this;
+        Entry after = this;
+        TimingWheel.Node<Entry> expiry;
+
+        void linkBefore(Entry head) {
+            before = head.before;
+            after = head;
+            head.before.after = this;
+            head.before = this;
+        }
+
+        void unlink() {
+            before.after = after;
+            after.before = before;
+            before = this;
+            after = this;
+        }
+    }
+
+    private static final class AccessEntry extends Entry {
+
+        final OAuth2AccessToken token;
+        final OAuth2Authentication authentication;
+        final String authenticationKey;
+        final String refreshToken;
+
+        AccessEntry(OAuth2AccessToken token, OAuth2Authentication authentication, String authenticationKey) {
+            this.token = token;
+            this.authentication = authentication;
+            this.authenticationKey = authenticationKey;
+            this.refreshToken = token.getRefreshToken() == null ? null : token.getRefreshToken().getValue();
+        }
+    }
+
+    private static final class RefreshEntry extends Entry {
+
+        final OAuth2RefreshToken token;
+        final OAuth2Authentication authentication;
+
+        RefreshEntry(OAuth2RefreshToken token, OAuth2Authentication authentication) {
+            this.token = token;
+            this.authentication = authentication;
+        }
+    }
+}
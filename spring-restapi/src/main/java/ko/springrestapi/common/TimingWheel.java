@@ -0,0 +1,155 @@
+package ko.springrestapi.common;
+
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠. 만료 시각으로 슬롯에 넣어 두고 시간이 흐른 만큼의 슬롯만 처리하므로
+ * 만료 처리 비용이 전체 항목 수가 아니라 실제로 만료된 항목 수에 비례한다.
+ * <p>
+ * 레벨마다 64 칸이고 위 레벨 한 칸은 아래 레벨 한 바퀴다. 위 레벨 칸의 차례가 오면
+ * 그 칸의 항목들을 남은 시간에 맞는 아래 레벨로 내려 보낸다.
+ * 각 노드는 슬롯의 이중 연결 리스트에 직접 걸리므로 취소는 O(1) 이다.
+ * <p>
+ * 스레드 안전하지 않다. 호출하는 쪽의 락 안에서만 쓴다.
+ */
+public class TimingWheel<T> {
+
+    static final int WHEEL_BITS = 6;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    static final int LEVELS = 4;
+
+    /** 휠이 직접 담을 수 있는 가장 먼 미래 (tick 단위). 이보다 먼 항목은 맨 위 레벨에 두었다가 다시 배치한다. */
+    static final long MAX_DELAY_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    public static final class Node<T> {
+        final T value;
+        final long deadline;
+        Node<T> prev;
+        Node<T> next;
+
+        Node(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        boolean isScheduled() {
+            return prev != null;
+        }
+    }
+
+    private final long tickMillis;
+    private final Node<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        this.slots = new Node[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                Node<T> head = new Node<>(null, 0);
+                head.prev = head;
+                head.next = head;
+                slots[level][slot] = head;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * deadlineMillis 에 만료될 항목을 넣는다. 만료는 tick 단위로 올림하므로 deadline 보다 일찍 만료되지 않는다.
+     */
+    public Node<T> schedule(T value, long deadlineMillis) {
+        long deadline = (deadlineMillis + tickMillis - 1) / tickMillis;
+        Node<T> node = new Node<>(value, deadline);
+        // 현재 칸은 이미 처리했으므로 지난 시각이면 다음 칸에 넣는다
+        place(node, 1);
+        size++;
+        return node;
+    }
+
+    public void cancel(Node<T> node) {
+        if (node != null && node.isScheduled()) {
+            unlink(node);
+            size--;
+        }
+    }
+
+    /**
+     * nowMillis 까지 시간을 진행시키고 만료된 항목을 expired 에 넘긴다.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            expire(slots[0][(int) (currentTick & WHEEL_MASK)], expired);
+            if (size == 0) {
+                currentTick = targetTick;
+            }
+        }
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Node<T> head = slots[level][(int) ((currentTick >>> shift) & WHEEL_MASK)];
+            Node<T> node = head.next;
+            head.next = head;
+            head.prev = head;
+            while (node != head) {
+                Node<T> next = node.next;
+                // 내려온 직후 같은 tick 에 레벨 0 칸을 처리하므로 지금 만료될 항목은 현재 칸에 둔다
+                place(node, 0);
+                node = next;
+            }
+        }
+    }
+
+    private void expire(Node<T> head, Consumer<T> expired) {
+        Node<T> node = head.next;
+        while (node != head) {
+            Node<T> next = node.next;
+            if (node.deadline <= currentTick) {
+                unlink(node);
+                size--;
+                expired.accept(node.value);
+            }
+            node = next;
+        }
+    }
+
+    private void place(Node<T> node, long minimumDelay) {
+        long delay = Math.min(Math.max(node.deadline - currentTick, minimumDelay), MAX_DELAY_TICKS);
+        long at = currentTick + delay;
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        Node<T> head = slots[level][(int) ((at >>> (WHEEL_BITS * level)) & WHEEL_MASK)];
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private void unlink(Node<T> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+}
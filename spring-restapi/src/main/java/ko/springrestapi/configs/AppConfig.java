@@ -5,6 +5,7 @@ import ko.springrestapi.accounts.AccountRepository;
 import ko.springrestapi.accounts.AccountRole;
 import ko.springrestapi.accounts.AccountService;
 import ko.springrestapi.common.AppProperties;
+import ko.springrestapi.common.BoundedPasswordEncoder;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
@@ -12,7 +13,6 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Set;
 
@@ -24,9 +24,14 @@ public class AppConfig {
     }
 
 
+    // 반환 타입이 BoundedPasswordEncoder 여야 MeterBinder 로 등록되어 password.hashing.* 메트릭이 나간다
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(AppProperties appProperties) {
+        int threads = appProperties.getPasswordHashingThreads() > 0
+                ? appProperties.getPasswordHashingThreads()
+                : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(),
+                threads, appProperties.getPasswordHashingQueueCapacity());
     }
 
     @Bean
@@ -2,16 +2,24 @@ package ko.springrestapi.configs;
 
 import ko.springrestapi.accounts.AccountService;
 import ko.springrestapi.common.AppProperties;
+import ko.springrestapi.common.PasswordHashingRejectedException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
 import org.springframework.security.oauth2.config.annotation.configurers.ClientDetailsServiceConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.AuthorizationServerConfigurerAdapter;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableAuthorizationServer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerEndpointsConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerSecurityConfigurer;
+import org.springframework.security.oauth2.provider.error.DefaultWebResponseExceptionTranslator;
+import org.springframework.security.oauth2.provider.error.WebResponseExceptionTranslator;
 import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
 
 @Configuration
 @EnableAuthorizationServer
@@ -32,6 +40,9 @@ public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
     @Autowired
     TokenStore tokenStore;
 
+    @Autowired(required = false)
+    JwtAccessTokenConverter accessTokenConverter;
+
     @Override
     public void configure(AuthorizationServerSecurityConfigurer security) throws Exception {
         security.passwordEncoder(passwordEncoder);
@@ -52,6 +63,46 @@ public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
     @Override
     public void configure(AuthorizationServerEndpointsConfigurer endpoints) throws Exception {
         endpoints.authenticationManager(authenticationManager)
-                .tokenStore(tokenStore);
+                .tokenStore(tokenStore)
+                .exceptionTranslator(exceptionTranslator());
+        if (accessTokenConverter != null) {
+            endpoints.accessTokenConverter(accessTokenConverter);
+        }
+    }
+
+    /**
+     * 비밀번호 해시 풀이 가득 차서 거절된 요청은 500 대신 503 과 Retry-After 로 응답한다.
+     */
+    private WebResponseExceptionTranslator<OAuth2Exception> exceptionTranslator() {
+        DefaultWebResponseExceptionTranslator defaultTranslator = new DefaultWebResponseExceptionTranslator();
+        return e -> {
+            if (isHashingRejected(e)) {
+                OAuth2Exception body = new OAuth2Exception(e.getMessage()) {
+                    @Override
+                    public String getOAuth2ErrorCode() {
+                        return "temporarily_unavailable";
+                    }
+
+                    @Override
+                    public int getHttpErrorCode() {
+                        return HttpStatus.SERVICE_UNAVAILABLE.value();
+                    }
+                };
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                        .body(body);
+            }
+            return defaultTranslator.translate(e);
+        };
+    }
+
+    private static boolean isHashingRejected(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PasswordHashingRejectedException) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,56 @@
+package ko.springrestapi.configs;
+
+import ko.springrestapi.common.AppProperties;
+import ko.springrestapi.events.Event;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    static final String EVENT_REGION = Event.class.getName();
+
+    // ehcache.xml 의 entity 템플릿과 같은 크기
+    private static final long EVENT_REGION_ENTRIES = 10_000;
+
+    /**
+     * Hibernate 2차 캐시가 스프링이 만든 JCache(ehcache.xml) CacheManager 를 같이 쓰도록 한다.
+     * 그래야 캐시 영역들이 스프링 캐시 메트릭(cache.gets, cache.evictions ...)으로도 노출된다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(CacheManager cacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    /**
+     * my-app.event-cache-ttl 이 있으면 Event 영역을 그 TTL 로 다시 만든다. 0 이면 넣자마자 만료되어 캐시하지 않는 것과 같다.
+     * 이 애플리케이션을 거치지 않고 event 테이블을 고치는 배포(spring-restapi-reactive)와 같은 DB 를 쓸 때,
+     * 그 변경이 10분짜리 2차 캐시에 가려지지 않도록 줄인다.
+     */
+    @Bean
+    public JCacheManagerCustomizer eventRegionCustomizer(AppProperties appProperties) {
+        return cacheManager -> {
+            Duration ttl = appProperties.getEventCacheTtl();
+            if (ttl == null) {
+                return;
+            }
+            cacheManager.destroyCache(EVENT_REGION);
+            cacheManager.createCache(EVENT_REGION, Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                            ResourcePoolsBuilder.heap(EVENT_REGION_ENTRIES))
+                            .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))));
+        };
+    }
+}
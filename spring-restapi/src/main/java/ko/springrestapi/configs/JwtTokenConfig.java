@@ -0,0 +1,44 @@
+package ko.springrestapi.configs;
+
+import ko.springrestapi.accounts.AccountUserAuthenticationConverter;
+import ko.springrestapi.common.AppProperties;
+import ko.springrestapi.common.CachingJwtTokenStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+import java.time.Duration;
+
+/**
+ * my-app.token-mode=jwt 일 때 토큰 저장소 대신 HMAC 으로 서명한 JWT 를 발급하고 검증한다.
+ * 같은 서명 키를 쓰는 노드끼리는 토큰을 그대로 공유할 수 있다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "my-app", name = "token-mode", havingValue = "jwt")
+public class JwtTokenConfig {
+
+    private static final int MINIMUM_KEY_LENGTH = 32;
+
+    @Bean
+    JwtAccessTokenConverter accessTokenConverter(AppProperties appProperties) {
+        String signingKey = appProperties.getTokenSigningKey();
+        if (signingKey == null || signingKey.length() < MINIMUM_KEY_LENGTH) {
+            throw new IllegalStateException("my-app.token-signing-key must be at least "
+                    + MINIMUM_KEY_LENGTH + " characters when my-app.token-mode=jwt");
+        }
+        DefaultAccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+        accessTokenConverter.setUserTokenConverter(new AccountUserAuthenticationConverter());
+
+        JwtAccessTokenConverter jwtAccessTokenConverter = new JwtAccessTokenConverter();
+        jwtAccessTokenConverter.setSigningKey(signingKey);
+        jwtAccessTokenConverter.setAccessTokenConverter(accessTokenConverter);
+        return jwtAccessTokenConverter;
+    }
+
+    @Bean
+    CachingJwtTokenStore tokenStore(JwtAccessTokenConverter accessTokenConverter) {
+        return new CachingJwtTokenStore(accessTokenConverter, 10_000, Duration.ofMinutes(10));
+    }
+}
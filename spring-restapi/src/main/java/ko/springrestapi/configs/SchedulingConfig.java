@@ -0,0 +1,15 @@
+package ko.springrestapi.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * EventStatusScheduler 를 1초마다 돌리고 EventCountEstimator 를 5분마다 다시 센다.
+ * 테스트처럼 직접 호출할 때는 my-app.event-status-scheduler=false 로 끈다.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "my-app", name = "event-status-scheduler", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -1,7 +1,10 @@
 package ko.springrestapi.configs;
 
 import ko.springrestapi.accounts.AccountService;
+import ko.springrestapi.common.AppProperties;
+import ko.springrestapi.common.ShardedTokenStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,8 +16,6 @@ import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.provider.token.TokenStore;
-import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
 
 @Configuration
 @EnableWebSecurity
@@ -26,9 +27,11 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    // MeterBinder 라서 메트릭 설정 중에 일찍 만들어지므로 필드 주입 대신 파라미터로 받는다
     @Bean
-    TokenStore tokenStore() {
-        return new InMemoryTokenStore();
+    @ConditionalOnProperty(prefix = "my-app", name = "token-mode", havingValue = "store", matchIfMissing = true)
+    ShardedTokenStore tokenStore(AppProperties appProperties) {
+        return new ShardedTokenStore(appProperties.getTokenStoreShards(), appProperties.getTokenStoreMaximumSize());
     }
 
     @Bean
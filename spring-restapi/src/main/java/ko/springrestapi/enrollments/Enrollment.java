@@ -0,0 +1,35 @@
+package ko.springrestapi.enrollments;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.AccountSerializer;
+import ko.springrestapi.events.Event;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Builder @AllArgsConstructor @NoArgsConstructor
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Entity
+// 한 계정은 한 이벤트에 한 번만 신청한다. 동시에 같은 신청이 들어와도 DB 가 막는다
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_account",
+        columnNames = {"event_id", "account_id"}))
+public class Enrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonIgnore
+    private Event event;
+
+    @ManyToOne(optional = false)
+    @JsonSerialize(using = AccountSerializer.class)
+    private Account account;
+
+    private LocalDateTime enrolledAt;
+}
@@ -0,0 +1,129 @@
+package ko.springrestapi.enrollments;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * 이벤트별 남은 자리를 메모리에 들고 있다가 신청을 DB 로 보내기 전에 먼저 자리를 잡는다.
+ * 자리를 못 잡은 신청은 DB 에 가지 않으므로, 신청이 몰려도 정원 행을 UPDATE 하는 트랜잭션은 남은 자리 수만큼만 생긴다.
+ * 정원을 넘지 않는 것은 DB 의 조건부 UPDATE 가 보장하고, 이 값은 거기에 맞춰 가는 근사값이다.
+ * 다른 노드의 신청과 취소 때문에 어긋날 수 있으므로 자리가 없다고 판단할 때 마지막으로 맞춘 지 오래됐으면 DB 기준으로 다시 맞춘다.
+ */
+@Component
+public class EnrollmentAdmission {
+
+    static final long RESYNC_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentHashMap<Integer, Seats> seats = new ConcurrentHashMap<>();
+
+    /**
+     * 자리를 하나 잡는다. 처음 보는 이벤트면 remaining 으로 DB 의 남은 자리를 읽어 온다.
+     * 자리를 잡았으면 그 {@link Reservation} 의 confirm 이나 release 중 하나를 반드시 불러야 한다.
+     */
+    public Optional<Reservation> tryAcquire(Integer eventId, IntSupplier remaining) {
+        Seats eventSeats = seats.get(eventId);
+        if (eventSeats == null) {
+            // DB 를 읽는 동안 맵의 버킷 락을 잡지 않도록 먼저 읽고 putIfAbsent 로 넣는다. 동시에 처음 온 요청은 먼저 넣은 쪽을 쓴다
+            Seats loaded = new Seats(remaining.getAsInt());
+            eventSeats = seats.putIfAbsent(eventId, loaded);
+            if (eventSeats == null) {
+                eventSeats = loaded;
+            }
+        }
+        if (eventSeats.tryAcquire()) {
+            return Optional.of(new Reservation(eventSeats));
+        }
+        if (System.nanoTime() - eventSeats.syncedAt > RESYNC_INTERVAL_NANOS) {
+            eventSeats.resync(remaining.getAsInt());
+            if (eventSeats.tryAcquire()) {
+                return Optional.of(new Reservation(eventSeats));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** 이미 DB 에 반영된 신청이 취소돼서 자리가 하나 났다 */
+    public void returned(Integer eventId) {
+        Seats eventSeats = seats.get(eventId);
+        if (eventSeats != null) {
+            eventSeats.remaining.incrementAndGet();
+        }
+    }
+
+    /** DB 에서 읽은 남은 자리로 다시 맞춘다 */
+    public void resync(Integer eventId, int remaining) {
+        Seats eventSeats = seats.get(eventId);
+        if (eventSeats != null) {
+            eventSeats.resync(remaining);
+        }
+    }
+
+    /** 정원이 바뀌었으니 다음 신청 때 DB 에서 다시 읽는다 */
+    public void invalidate(Integer eventId) {
+        seats.remove(eventId);
+    }
+
+    int remaining(Integer eventId) {
+        Seats eventSeats = seats.get(eventId);
+        return eventSeats == null ? -1 : eventSeats.remaining.get();
+    }
+
+    /**
+     * 잡은 자리 하나. 자리를 내준 Seats 에만 되돌리므로, 그 사이 정원이 바뀌어 DB 에서 새로 읽은 Seats 의 값은 건드리지 않는다.
+     */
+    public static final class Reservation {
+
+        private final Seats seats;
+
+        private Reservation(Seats seats) {
+            this.seats = seats;
+        }
+
+        /** 잡은 자리가 DB 에 반영됐다 */
+        public void confirm() {
+            seats.inFlight.decrementAndGet();
+        }
+
+        /** 잡은 자리를 쓰지 못했다 */
+        public void release() {
+            seats.inFlight.decrementAndGet();
+            seats.remaining.incrementAndGet();
+        }
+    }
+
+    private static final class Seats {
+
+        final AtomicInteger remaining;
+        // 자리를 잡았지만 아직 DB 에 반영되지 않은 신청. DB 값으로 맞출 때 빼야 한다
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile long syncedAt;
+
+        Seats(int remaining) {
+            this.remaining = new AtomicInteger(remaining);
+            this.syncedAt = System.nanoTime();
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    inFlight.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+
+        void resync(int remainingInDatabase) {
+            remaining.set(Math.max(remainingInDatabase - inFlight.get(), 0));
+            syncedAt = System.nanoTime();
+        }
+    }
+}
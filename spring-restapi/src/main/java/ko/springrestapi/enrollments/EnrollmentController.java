@@ -0,0 +1,103 @@
+package ko.springrestapi.enrollments;
+
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.CurrentUser;
+import ko.springrestapi.common.RequestLinks;
+import ko.springrestapi.events.Event;
+import ko.springrestapi.events.EventController;
+import ko.springrestapi.events.EventRepository;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Optional;
+
+@Controller
+@RequestMapping(value = "/api/events/{eventId}/enrollments", produces = MediaTypes.HAL_JSON_VALUE)
+public class EnrollmentController {
+
+    private static final LinkRelation EVENT = LinkRelation.of("event");
+    private static final LinkRelation CANCEL_ENROLLMENT = LinkRelation.of("cancel-enrollment");
+
+    private static final Link PROFILE_ENROLL = Link.of("/docs/index.html#resources-enrollments-create", "profile");
+    private static final Link PROFILE_GET = Link.of("/docs/index.html#resources-enrollments-get", "profile");
+
+    private final EventRepository eventRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentService enrollmentService;
+
+    public EnrollmentController(EventRepository eventRepository, EnrollmentRepository enrollmentRepository,
+                                EnrollmentService enrollmentService) {
+        this.eventRepository = eventRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentService = enrollmentService;
+    }
+
+    /**
+     * 참가 신청. 신청을 받지 않는 이벤트, 정원이 찬 이벤트, 이미 신청한 이벤트는 409 와 사유를 준다.
+     */
+    @PostMapping
+    public ResponseEntity enroll(@PathVariable Integer eventId, @CurrentUser Account currentUser) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Enrollment enrollment;
+        try {
+            enrollment = this.enrollmentService.enroll(optionalEvent.get(), currentUser);
+        } catch (EnrollmentException e) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "enrollment");
+            errors.reject(e.getReason().name(), "Enrollment rejected: " + e.getReason());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errors);
+        }
+
+        EntityModel<Enrollment> enrollmentResource = toResource(enrollment, eventId);
+        enrollmentResource.add(PROFILE_ENROLL);
+        return ResponseEntity.created(enrollmentResource.getRequiredLink("self").toUri()).body(enrollmentResource);
+    }
+
+    /**
+     * 자기 신청만 보인다. 남의 신청이나 로그인하지 않은 요청은 404
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity getEnrollment(@PathVariable Integer eventId, @PathVariable Integer id,
+                                        @CurrentUser Account currentUser) {
+        Optional<Enrollment> optionalEnrollment = this.enrollmentRepository.findById(id)
+                .filter(e -> e.getEvent().getId().equals(eventId))
+                .filter(e -> e.getAccount().equals(currentUser));
+        if (optionalEnrollment.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        EntityModel<Enrollment> enrollmentResource = toResource(optionalEnrollment.get(), eventId);
+        enrollmentResource.add(PROFILE_GET);
+        return ResponseEntity.ok(enrollmentResource);
+    }
+
+    /**
+     * 자기 신청을 취소한다.
+     */
+    @DeleteMapping
+    public ResponseEntity cancel(@PathVariable Integer eventId, @CurrentUser Account currentUser) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+        if (optionalEvent.isEmpty() || !this.enrollmentService.cancel(optionalEvent.get(), currentUser)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private EntityModel<Enrollment> toResource(Enrollment enrollment, Integer eventId) {
+        EntityModel<Enrollment> enrollmentResource = EnrollmentResource.of(enrollment, eventId);
+        enrollmentResource.add(RequestLinks.linkTo(EventController.class, eventId, EVENT));
+        enrollmentResource.add(Link.of(EnrollmentResource.collectionHref(eventId), CANCEL_ENROLLMENT));
+        return enrollmentResource;
+    }
+}
@@ -0,0 +1,31 @@
+package ko.springrestapi.enrollments;
+
+/**
+ * 신청을 받을 수 없을 때. 컨트롤러는 409 로 돌려준다.
+ */
+public class EnrollmentException extends RuntimeException {
+
+    public enum Reason {
+        /** 이벤트가 신청을 받는 상태가 아니다 */
+        NOT_OPEN,
+        /** 정원이 찼다 */
+        FULL,
+        /** 이미 신청했다 */
+        ALREADY_ENROLLED
+    }
+
+    private final Reason reason;
+
+    public EnrollmentException(Reason reason) {
+        this(reason, null);
+    }
+
+    public EnrollmentException(Reason reason, Throwable cause) {
+        super(reason.name(), cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
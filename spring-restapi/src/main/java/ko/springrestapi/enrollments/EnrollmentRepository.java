@@ -0,0 +1,12 @@
+package ko.springrestapi.enrollments;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
+
+    Optional<Enrollment> findByEventIdAndAccountId(Integer eventId, Integer accountId);
+
+    long countByEventId(Integer eventId);
+}
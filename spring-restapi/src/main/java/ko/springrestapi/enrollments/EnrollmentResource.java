@@ -0,0 +1,25 @@
+package ko.springrestapi.enrollments;
+
+import ko.springrestapi.common.RequestLinks;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+
+public final class EnrollmentResource {
+
+    private EnrollmentResource() {
+    }
+
+    /** self 링크가 붙은 신청 */
+    static EntityModel<Enrollment> of(Enrollment enrollment, Integer eventId) {
+        return EntityModel.of(enrollment,
+                Link.of(collectionHref(eventId) + "/" + enrollment.getId(), IanaLinkRelations.SELF));
+    }
+
+    /** /api/events/{eventId}/enrollments */
+    static String collectionHref(Integer eventId) {
+        return RequestLinks.href(EnrollmentController.class.getName() + "/" + eventId,
+                () -> WebMvcLinkBuilder.linkTo(EnrollmentController.class, eventId).toUri().toString());
+    }
+}
@@ -0,0 +1,124 @@
+package ko.springrestapi.enrollments;
+
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.events.Event;
+import ko.springrestapi.events.EventStatus;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 이벤트 참가 신청과 취소.
+ * 신청은 먼저 {@link EnrollmentAdmission} 에서 메모리 상의 자리를 잡고, 잡은 경우에만 짧은 트랜잭션에서
+ * 정원 행을 조건부 UPDATE 하고 신청을 저장한다. 조건부 UPDATE 가 0 건이면 다른 노드가 먼저 채운 것이다.
+ * 중복 신청은 uk_enrollment_event_account 가 막고, 그때 정원 UPDATE 도 같이 롤백된다.
+ */
+@Service
+public class EnrollmentService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EventCapacityRepository eventCapacityRepository;
+    private final EnrollmentAdmission enrollmentAdmission;
+    private final TransactionTemplate transactionTemplate;
+
+    public EnrollmentService(EnrollmentRepository enrollmentRepository, EventCapacityRepository eventCapacityRepository,
+                             EnrollmentAdmission enrollmentAdmission, PlatformTransactionManager transactionManager) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.eventCapacityRepository = eventCapacityRepository;
+        this.enrollmentAdmission = enrollmentAdmission;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Enrollment enroll(Event event, Account account) {
+        if (event.getEventStatus() != EventStatus.BEGAN_ENROLLMENT) {
+            throw new EnrollmentException(EnrollmentException.Reason.NOT_OPEN);
+        }
+        Integer eventId = event.getId();
+        // 이미 신청했는지는 미리 조회하지 않는다. 자리가 없는 신청은 DB 에 가지 않고, 중복 신청은 유니크 키가 막는다
+        EnrollmentAdmission.Reservation reservation = enrollmentAdmission.tryAcquire(eventId, () -> remaining(event))
+                .orElseThrow(() -> new EnrollmentException(EnrollmentException.Reason.FULL));
+
+        Enrollment enrollment;
+        try {
+            enrollment = transactionTemplate.execute(status -> {
+                if (eventCapacityRepository.reserve(eventId) == 0) {
+                    return null;
+                }
+                return enrollmentRepository.saveAndFlush(Enrollment.builder()
+                        .event(event)
+                        .account(account)
+                        .enrolledAt(LocalDateTime.now())
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+            reservation.release();
+            throw new EnrollmentException(EnrollmentException.Reason.ALREADY_ENROLLED, e);
+        } catch (RuntimeException | Error e) {
+            reservation.release();
+            throw e;
+        }
+
+        if (enrollment == null) {
+            reservation.release();
+            enrollmentAdmission.resync(eventId, remaining(event));
+            throw new EnrollmentException(EnrollmentException.Reason.FULL);
+        }
+        reservation.confirm();
+        return enrollment;
+    }
+
+    /**
+     * 신청을 취소한다. 신청한 적이 없으면 false
+     */
+    public boolean cancel(Event event, Account account) {
+        Integer eventId = event.getId();
+        Boolean cancelled = transactionTemplate.execute(status -> {
+            Optional<Enrollment> enrollment = enrollmentRepository.findByEventIdAndAccountId(eventId, account.getId());
+            if (enrollment.isEmpty()) {
+                return false;
+            }
+            enrollmentRepository.delete(enrollment.get());
+            eventCapacityRepository.release(eventId);
+            return true;
+        });
+        if (Boolean.TRUE.equals(cancelled)) {
+            enrollmentAdmission.returned(eventId);
+        }
+        return Boolean.TRUE.equals(cancelled);
+    }
+
+    /**
+     * 이벤트 정원 (limitOfEnrollment) 이 바뀌었을 때 부른다. 정원 행이 아직 없으면 처음 신청할 때 만든다.
+     */
+    public void capacityChanged(Event event) {
+        transactionTemplate.executeWithoutResult(
+                status -> eventCapacityRepository.updateCapacity(event.getId(), event.getLimitOfEnrollment()));
+        enrollmentAdmission.invalidate(event.getId());
+    }
+
+    /**
+     * DB 기준 남은 자리. 정원 행이 없으면 이벤트 정원과 지금까지의 신청 수로 만든다.
+     * 다른 노드가 동시에 만들어서 키가 겹치면 그쪽 행을 다시 읽는다.
+     */
+    private int remaining(Event event) {
+        try {
+            return transactionTemplate.execute(status -> eventCapacityRepository.findById(event.getId())
+                    .orElseGet(() -> {
+                        // merge 하는 save 는 그 사이 다른 신청이 만든 행의 신청 수를 덮어쓰므로 INSERT 만 한다
+                        EventCapacity eventCapacity = new EventCapacity(event.getId(), event.getLimitOfEnrollment(),
+                                (int) enrollmentRepository.countByEventId(event.getId()));
+                        eventCapacityRepository.insert(eventCapacity);
+                        return eventCapacity;
+                    })
+                    .remaining());
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> eventCapacityRepository.findById(event.getId())
+                    .map(EventCapacity::remaining)
+                    .orElseThrow(() -> e));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ko.springrestapi.enrollments;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * 이벤트별 정원과 신청 수. 신청 수는 조건부 UPDATE (EventCapacityRepository.reserve) 로만 올려서 정원을 넘지 않는다.
+ * Event 는 2차 캐시에 있으므로 자주 바뀌는 이 값은 따로 두고 캐시하지 않는다.
+ */
+@AllArgsConstructor @NoArgsConstructor
+@Getter @Setter @EqualsAndHashCode(of = "eventId")
+@Entity
+public class EventCapacity {
+
+    @Id
+    private Integer eventId;
+
+    private int capacity;
+    private int enrolled;
+
+    public int remaining() {
+        return Math.max(capacity - enrolled, 0);
+    }
+}
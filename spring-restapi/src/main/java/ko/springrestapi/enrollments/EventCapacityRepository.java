@@ -0,0 +1,21 @@
+package ko.springrestapi.enrollments;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface EventCapacityRepository extends JpaRepository<EventCapacity, Integer>, EventCapacityRepositoryCustom {
+
+    /** 자리가 남아 있을 때만 신청 수를 하나 올린다. 올렸으면 1, 정원이 찼으면 0 */
+    @Modifying
+    @Query("update EventCapacity c set c.enrolled = c.enrolled + 1 where c.eventId = :eventId and c.enrolled < c.capacity")
+    int reserve(Integer eventId);
+
+    @Modifying
+    @Query("update EventCapacity c set c.enrolled = c.enrolled - 1 where c.eventId = :eventId and c.enrolled > 0")
+    int release(Integer eventId);
+
+    @Modifying
+    @Query("update EventCapacity c set c.capacity = :capacity where c.eventId = :eventId")
+    int updateCapacity(Integer eventId, int capacity);
+}
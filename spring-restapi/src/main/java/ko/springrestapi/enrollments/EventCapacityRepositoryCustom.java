@@ -0,0 +1,10 @@
+package ko.springrestapi.enrollments;
+
+public interface EventCapacityRepositoryCustom {
+
+    /**
+     * 정원 행을 새로 만든다. save 와 달리 merge 하지 않고 항상 INSERT 하므로,
+     * 다른 신청이 먼저 만들었으면 그 행의 신청 수를 덮어쓰지 않고 DataIntegrityViolationException 으로 실패한다.
+     */
+    void insert(EventCapacity eventCapacity);
+}
@@ -0,0 +1,19 @@
+package ko.springrestapi.enrollments;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class EventCapacityRepositoryImpl implements EventCapacityRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void insert(EventCapacity eventCapacity) {
+        entityManager.persist(eventCapacity);
+        entityManager.flush();
+    }
+}
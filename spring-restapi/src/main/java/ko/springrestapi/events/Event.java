@@ -1,9 +1,13 @@
 package ko.springrestapi.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import ko.springrestapi.accounts.Account;
 import ko.springrestapi.accounts.AccountSerializer;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -11,11 +15,35 @@ import java.time.LocalDateTime;
 @Builder @AllArgsConstructor @NoArgsConstructor
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// 바뀐 컬럼만 UPDATE 한다. PATCH 로 상태 하나만 바꿀 때 나머지 컬럼과 그 인덱스를 다시 쓰지 않는다
+@DynamicUpdate
+// 목록 검색 (EventRepositoryImpl.findSummaries) 용 인덱스.
+// 정렬 속성 (EventSortKey) 마다 (속성, id), 조건은 상태와 관리자를 앞에 둔 복합 인덱스로 받는다.
+// columnList 는 논리 이름 (속성 이름) 으로 쓴다. free, offline 만 주는 조건은 선택도가 낮아서 따로 인덱스를 두지 않는다.
+@Table(indexes = {
+        @Index(name = "idx_event_status_free_offline_begin_event",
+                columnList = "eventStatus, free, offline, beginEventDateTime"),
+        @Index(name = "idx_event_manager_begin_event", columnList = "manager_id, beginEventDateTime"),
+        // EventStatusScheduler 가 다음 등록 시작 시각을 찾고 지난 이벤트를 바꿀 때 쓴다
+        @Index(name = "idx_event_status_begin_enrollment", columnList = "eventStatus, beginEnrollmentDateTime"),
+        @Index(name = "idx_event_name", columnList = "name, id"),
+        @Index(name = "idx_event_begin_enrollment", columnList = "beginEnrollmentDateTime, id"),
+        @Index(name = "idx_event_close_enrollment", columnList = "closeEnrollmentDateTime, id"),
+        @Index(name = "idx_event_begin_event", columnList = "beginEventDateTime, id"),
+        @Index(name = "idx_event_end_event", columnList = "endEventDateTime, id")
+})
 public class Event {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
     private String name;
     private String description;
     private LocalDateTime beginEnrollmentDateTime;
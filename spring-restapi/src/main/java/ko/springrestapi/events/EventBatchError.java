@@ -0,0 +1,17 @@
+package ko.springrestapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.validation.Errors;
+
+/**
+ * 일괄 생성 요청에서 index 번째 항목의 검증 에러. errors 는 ErrorsSerializer 형식으로 나간다.
+ */
+@Getter
+@AllArgsConstructor
+public class EventBatchError {
+
+    private long index;
+
+    private Errors errors;
+}
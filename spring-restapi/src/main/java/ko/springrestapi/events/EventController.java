@@ -1,38 +1,107 @@
 package ko.springrestapi.events;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import ko.springrestapi.accounts.Account;
 import ko.springrestapi.accounts.CurrentUser;
-import org.modelmapper.ModelMapper;
+import ko.springrestapi.common.ETags;
+import ko.springrestapi.common.RequestLinks;
+import ko.springrestapi.enrollments.EnrollmentService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
 public class EventController {
 
+    static final int MAX_BATCH_SIZE = 1000;
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
+    // 링크 관계와 profile 링크는 요청과 상관없으므로 한 번만 만들어 둔다
+    private static final LinkRelation QUERY_EVENTS = LinkRelation.of("query-events");
+    private static final LinkRelation CREATE_EVENT = LinkRelation.of("create-event");
+    private static final LinkRelation UPDATE_EVENT = LinkRelation.of("update-event");
+
+    private static final Link PROFILE_CREATE = Link.of("/docs/index.html#resources-events-create", "profile");
+    private static final Link PROFILE_BATCH_CREATE = Link.of("/docs/index.html#resources-events-batch-create", "profile");
+    private static final Link PROFILE_LIST = Link.of("/docs/index.html#resoucres-events-list", "profile");
+    private static final Link PROFILE_GET = Link.of("/docs/index.html#resoucres-events-get", "profile");
+    private static final Link PROFILE_UPDATE = Link.of("/docs/index.html#resoucres-events-update", "profile");
+    private static final Link PROFILE_SEARCH = Link.of("/docs/index.html#resources-events-search", "profile");
+    private static final Link PROFILE_PATCH = Link.of("/docs/index.html#resources-events-patch", "profile");
+
+    static final String MERGE_PATCH_VALUE = "application/merge-patch+json";
+
     private final EventRepository eventRepository;
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
     private final EventValidator eventValidator;
+    private final EventCountEstimator eventCountEstimator;
+    private final EventService eventService;
+    private final SpringValidatorAdapter beanValidator;
+    private final EventExporter eventExporter;
+    private final EventImporter eventImporter;
+    private final EventSearchIndex eventSearchIndex;
+    private final EnrollmentService enrollmentService;
+    private final EventPatcher eventPatcher;
 
-    public EventController(EventRepository eventRepository, ModelMapper modelMapper, EventValidator eventValidator) {
+    public EventController(EventRepository eventRepository, EventMapper eventMapper, EventValidator eventValidator,
+                           EventCountEstimator eventCountEstimator, EventService eventService, Validator validator,
+                           EventExporter eventExporter, EventImporter eventImporter, EventSearchIndex eventSearchIndex,
+                           EnrollmentService enrollmentService, EventPatcher eventPatcher) {
         this.eventRepository = eventRepository;
-        this.modelMapper = modelMapper;
+        this.eventMapper = eventMapper;
         this.eventValidator = eventValidator;
+        this.eventCountEstimator = eventCountEstimator;
+        this.eventService = eventService;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.eventExporter = eventExporter;
+        this.eventImporter = eventImporter;
+        this.eventSearchIndex = eventSearchIndex;
+        this.enrollmentService = enrollmentService;
+        this.eventPatcher = eventPatcher;
     }
 
     @PostMapping
@@ -47,60 +116,348 @@ public class EventController {
             return ResponseEntity.badRequest().body(errors);
         }
 
-        Event event = modelMapper.map(eventDto, Event.class);
+        Event event = eventMapper.toEvent(eventDto);
         event.update();
         event.setManager(currentUser);
 
         Event newEvent = this.eventRepository.save(event);
+        this.eventCountEstimator.added(1);
+        this.eventSearchIndex.index(newEvent);
 
-        WebMvcLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
-        URI createdUri = selfLinkBuilder.toUri();
+        Link updateLink = RequestLinks.linkTo(EventController.class, newEvent.getId(), UPDATE_EVENT);
+        URI createdUri = updateLink.toUri();
         EventResource eventResource = new EventResource(event);
-        eventResource.add(linkTo(EventController.class).withRel("query-events"));
-//        eventResource.add(selfLinkBuilder.withSelfRel());
-        eventResource.add(selfLinkBuilder.withRel("update-event"));
-        eventResource.add(new Link("/docs/index.html#resources-events-create").withRel("profile"));
-        return ResponseEntity.created(createdUri).body(eventResource);
+        eventResource.add(RequestLinks.linkTo(EventController.class, QUERY_EVENTS));
+        eventResource.add(updateLink);
+        eventResource.add(PROFILE_CREATE);
+        return ResponseEntity.created(createdUri).eTag(ETags.of(newEvent.getVersion())).body(eventResource);
     }
 
+    /**
+     * 이벤트 일괄 생성. 모든 항목을 createEvent 와 같은 규칙으로 검증하고,
+     * 하나라도 잘못되면 (null 항목 포함) 아무것도 저장하지 않고 항목별 에러를 400 으로 돌려준다.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity createEvents(@RequestBody List<EventDto> eventDtos, @CurrentUser Account currentUser) {
+
+        if (eventDtos.isEmpty() || eventDtos.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<EventBatchError> batchErrors = new ArrayList<>();
+        List<Event> events = new ArrayList<>(eventDtos.size());
+        for (int i = 0; i < eventDtos.size(); i++) {
+            EventDto eventDto = eventDtos.get(i);
+            if (eventDto == null) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+                errors.reject("NotNull", "must not be null");
+                batchErrors.add(new EventBatchError(i, errors));
+                continue;
+            }
+            Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+            beanValidator.validate(eventDto, errors);
+            if (!errors.hasErrors()) {
+                eventValidator.validate(eventDto, errors);
+            }
+            if (errors.hasErrors()) {
+                batchErrors.add(new EventBatchError(i, errors));
+                continue;
+            }
+
+            Event event = eventMapper.toEvent(eventDto);
+            event.update();
+            event.setManager(currentUser);
+            events.add(event);
+        }
+        if (!batchErrors.isEmpty()) {
+            return ResponseEntity.badRequest().body(batchErrors);
+        }
+
+        List<Event> newEvents = this.eventService.createAll(events);
+        this.eventCountEstimator.added(newEvents.size());
+        this.eventSearchIndex.index(newEvents);
+
+        List<EventResource> eventResources = newEvents.stream()
+                .map(e -> new EventResource(e))
+                .collect(Collectors.toList());
+        var collectionModel = CollectionModel.of(eventResources);
+        collectionModel.add(RequestLinks.linkTo(EventController.class, QUERY_EVENTS));
+        collectionModel.add(PROFILE_BATCH_CREATE);
+        return ResponseEntity.status(HttpStatus.CREATED).body(collectionModel);
+    }
+
+    /**
+     * 이벤트 목록. 검색 조건 ({@link EventFilter}) 이 있으면 조건에 맞는 이벤트만 준다.
+     * 정렬은 인덱스가 있는 속성 ({@link EventSortKey}) 만 받고, 그 밖의 속성이면 400 이다.
+     */
     @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler
-            , @CurrentUser Account account) {
+    public ResponseEntity queryEvents(EventFilter filter, Pageable pageable, PagedResourcesAssembler<EventSummary> assembler
+            , @CurrentUser Account account, WebRequest request) {
+
+        if (!EventSortKey.supports(pageable.getSort())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Page<EventSummary> page;
+        String eTag;
+        if (filter.isEmpty()) {
+            Page<EventVersion> versions = this.eventRepository.findVersionsBy(pageable);
+            eTag = listETag(versions, EventVersion::getId, EventVersion::getVersion);
+            if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.AUTHORIZATION).build();
+            }
+            page = versions.map(EventVersion::getId)
+                    .map(toSummaries(versions.getContent())::get);
+        } else {
+            page = this.eventRepository.findSummaries(filter, pageable);
+            eTag = listETag(page, EventSummary::getId, EventSummary::getVersion);
+            if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.AUTHORIZATION).build();
+            }
+        }
+
+        var pagedResources = EventSummaryPage.of(assembler.toModel(page, e -> new EventSummaryResource(e)));
+        pagedResources.add(PROFILE_LIST);
+
+        if (account != null) {
+            pagedResources.add(RequestLinks.linkTo(EventController.class, CREATE_EVENT));
+        }
+
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.AUTHORIZATION).body(pagedResources);
+    }
+
+    /**
+     * 이름과 설명에서 검색어가 들어간 이벤트를 관련도 (BM25) 순으로 준다. 정렬은 받지 않는다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity searchEvents(@RequestParam String q, Pageable pageable
+            , PagedResourcesAssembler<EventSummary> assembler, @CurrentUser Account account) {
+
+        if (!StringUtils.hasText(q) || pageable.getSort().isSorted()
+                || pageable.getOffset() + pageable.getPageSize() > EventSearchIndex.MAX_RESULT_WINDOW) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        Page<Event> page = this.eventRepository.findAll(pageable);
-        var pagedResources = assembler.toModel(page, e -> new EventResource(e));
-        pagedResources.add(new Link("/docs/index.html#resoucres-events-list").withRel("profile"));
+        Page<Integer> ids = this.eventSearchIndex.search(q, pageable);
+        Map<Integer, EventSummary> summaries = this.eventRepository.findSummariesByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(EventSummary::getId, Function.identity()));
+        // 색인에는 남아 있지만 DB 에서 지워진 이벤트는 건너뛴다
+        List<EventSummary> content = ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Page<EventSummary> page = new PageImpl<>(content, pageable, ids.getTotalElements());
+
+        var pagedResources = EventSummaryPage.of(assembler.toModel(page, e -> new EventSummaryResource(e)));
+        pagedResources.add(PROFILE_SEARCH);
 
         if (account != null) {
-            pagedResources.add(linkTo(EventController.class).withRel("create-event"));
+            pagedResources.add(RequestLinks.linkTo(EventController.class, CREATE_EVENT));
         }
 
         return ResponseEntity.ok(pagedResources);
     }
 
+    private Map<Integer, EventSummary> toSummaries(List<EventVersion> versions) {
+        List<Integer> ids = versions.stream().map(EventVersion::getId).collect(Collectors.toList());
+        return this.eventRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventSummary::getId, Function.identity()));
+    }
+
+    /**
+     * 목록 ETag 는 페이지 위치, 전체 개수, 그리고 페이지에 담긴 (id, version) 으로 만든다.
+     * 이 중 하나라도 바뀌면 응답 본문도 바뀌기 때문이다.
+     */
+    private <T> String listETag(Page<T> page, Function<T, Integer> id, Function<T, Long> version) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(page.getNumber()).append('/')
+                .append(page.getSize()).append('/')
+                .append(page.getSort()).append('/')
+                .append(page.getTotalElements());
+        page.forEach(v -> fingerprint.append(';').append(id.apply(v)).append(':').append(version.apply(v)));
+        return ETags.of(DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @GetMapping(params = "total")
+    public ResponseEntity queryEventsWithoutCount(@RequestParam String total, EventFilter filter, Pageable pageable
+            , PagedResourcesAssembler<EventSummary> assembler, @CurrentUser Account account, WebRequest request) {
+
+        if ("exact".equals(total)) {
+            return queryEvents(filter, pageable, assembler, account, request);
+        }
+        if (!"none".equals(total) && !"estimate".equals(total)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // 검색 조건은 개수를 세는 목록에서만 받는다
+        if (!filter.isEmpty() || !EventSortKey.supports(pageable.getSort())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Slice<EventSummary> slice = this.eventRepository.findSummarySliceBy(pageable);
+        RepresentationModel<?> resources;
+        if ("estimate".equals(total)) {
+            Page<EventSummary> page = new PageImpl<>(slice.getContent(), pageable, this.eventCountEstimator.estimate());
+            resources = EventSummaryPage.of(assembler.toModel(page, e -> new EventSummaryResource(e)));
+        } else {
+            List<EventSummaryResource> content = slice.map(EventSummaryResource::new).getContent();
+            var collectionResources = CollectionModel.of(content,
+                    Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()));
+            if (slice.hasNext()) {
+                collectionResources.add(pageLink(slice.nextPageable(), IanaLinkRelations.NEXT));
+            }
+            if (slice.hasPrevious()) {
+                collectionResources.add(pageLink(slice.previousPageable(), IanaLinkRelations.PREV));
+            }
+            resources = collectionResources;
+        }
+        resources.add(PROFILE_LIST);
+
+        if (account != null) {
+            resources.add(RequestLinks.linkTo(EventController.class, CREATE_EVENT));
+        }
+
+        return ResponseEntity.ok(resources);
+    }
+
+    private Link pageLink(Pageable pageable, LinkRelation rel) {
+        return Link.of(ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page", pageable.getPageNumber())
+                .replaceQueryParam("size", pageable.getPageSize())
+                .toUriString(), rel);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity queryEventsByCursor(@RequestParam String cursor, EventFilter filter, Pageable pageable
+            , @CurrentUser Account account) {
+
+        // 검색 조건은 개수를 세는 목록에서만 받는다
+        if (!filter.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        EventCursor eventCursor;
+        try {
+            eventCursor = cursor.isEmpty() ? firstCursor(pageable.getSort()) : EventCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int size = pageable.getPageSize();
+        List<EventSummary> events = new ArrayList<>(this.eventRepository.findByCursor(eventCursor, size + 1));
+        boolean hasMore = events.size() > size;
+        if (hasMore) {
+            events.remove(size);
+        }
+        if (eventCursor.isBackward()) {
+            Collections.reverse(events);
+        }
+
+        List<EventSummaryResource> content = events.stream().map(EventSummaryResource::new).collect(Collectors.toList());
+        var collectionResources = CollectionModel.of(content,
+                Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()));
+        if (!events.isEmpty()) {
+            boolean hasNext = eventCursor.isBackward() || hasMore;
+            boolean hasPrev = eventCursor.isBackward() ? hasMore : eventCursor.hasPosition();
+            if (hasNext) {
+                collectionResources.add(cursorLink(eventCursor.after(events.get(events.size() - 1)), IanaLinkRelations.NEXT));
+            }
+            if (hasPrev) {
+                collectionResources.add(cursorLink(eventCursor.before(events.get(0)), IanaLinkRelations.PREV));
+            }
+        }
+        collectionResources.add(PROFILE_LIST);
+
+        if (account != null) {
+            collectionResources.add(RequestLinks.linkTo(EventController.class, CREATE_EVENT));
+        }
+
+        return ResponseEntity.ok(collectionResources);
+    }
+
+    private EventCursor firstCursor(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(EventSortKey.ID.getProperty()));
+        EventSortKey sortKey = EventSortKey.fromProperty(order.getProperty())
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort key: " + order.getProperty()));
+        return EventCursor.first(sortKey, order.getDirection());
+    }
+
+    private Link cursorLink(EventCursor cursor, LinkRelation rel) {
+        return Link.of(ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", cursor.encode())
+                .replaceQueryParam("sort")
+                .toUriString(), rel);
+    }
+
+    /**
+     * 전체 이벤트를 NDJSON 으로 흘려 보낸다. 쓰기는 요청 스레드가 아닌 비동기 스레드에서 한다.
+     */
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        StreamingResponseBody body = outputStream -> this.eventExporter.export(outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * NDJSON 본문을 읽으면서 청크 단위로 저장하고 처리 결과를 돌려준다.
+     * 잘못된 항목은 건너뛰고, JSON 자체가 깨진 줄을 만나면 거기서 멈추고 400 을 준다.
+     */
+    @PostMapping(value = "/import", consumes = NDJSON_VALUE)
+    public ResponseEntity importEvents(InputStream inputStream, @CurrentUser Account currentUser) throws IOException {
+        EventImportResult result = this.eventImporter.importFrom(inputStream, currentUser);
+        if (!result.isCompleted()) {
+            return ResponseEntity.badRequest().body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Integer id, @CurrentUser Account currentUser) {
+    public ResponseEntity getEvent(@PathVariable Integer id, @CurrentUser Account currentUser, WebRequest request) {
 //        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            Optional<String> currentETag = this.eventRepository.findVersionById(id).map(ETags::of);
+            if (currentETag.isPresent() && ETags.matches(ifNoneMatch, currentETag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag.get())
+                        .varyBy(HttpHeaders.AUTHORIZATION).build();
+            }
+        }
+
         Optional<Event> optionalEvent = this.eventRepository.findById(id);
         if (optionalEvent.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         Event event = optionalEvent.get();
         EventResource eventResource = new EventResource(event);
-        eventResource.add(new Link("/docs/index.html#resoucres-events-get").withRel("profile"));
+        eventResource.add(PROFILE_GET);
 
-        if (event.getManager().equals(currentUser)) {
-            eventResource.add(linkTo(EventController.class).slash(event.getId()).withRel("update-event"));
+        if (currentUser != null && currentUser.equals(event.getManager())) {
+            eventResource.add(RequestLinks.linkTo(EventController.class, event.getId(), UPDATE_EVENT));
         }
 
 
-        return ResponseEntity.ok(eventResource);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(event.getVersion()))
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(eventResource);
     }
 
+    /**
+     * 이벤트 수정. If-Match 에 버전 ETag 를 주면 이벤트를 읽지 않고 버전이 맞을 때만 한 번의 UPDATE 로 고치고
+     * 본문 없이 204 와 새 ETag 를 준다. 버전이 다르면 412 다.
+     * If-Match 가 없으면 읽어서 고치고, 그 사이 다른 수정이 먼저 커밋됐으면 409 다.
+     */
     @PutMapping("/{id}")
     public ResponseEntity updateEvent(@PathVariable Integer id, @RequestBody @Valid EventDto eventDto, Errors errors
-            , @CurrentUser Account currentUser) {
+            , @CurrentUser Account currentUser
+            , @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Long> expectedVersion = ETags.version(ifMatch);
+        if (expectedVersion.isPresent() && currentUser != null) {
+            return updateEventIfVersionMatches(id, expectedVersion.get(), eventDto, errors, currentUser);
+        }
+
         Optional<Event> optionalEvent = this.eventRepository.findById(id);
         if (optionalEvent.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -117,12 +474,103 @@ public class EventController {
         if (!existingEvent.getManager().equals(currentUser)) {
             return new ResponseEntity(HttpStatus.UNAUTHORIZED);
         }
-        this.modelMapper.map(eventDto, existingEvent);
-        Event savedEvent = this.eventRepository.save(existingEvent);
+        // If-Match 가 목록이나 약한 ETag 같은 모양이면 읽은 버전과 강한 비교를 한다. 약한 ETag 는 412 다
+        if (ifMatch != null && !ETags.strongMatches(ifMatch, ETags.of(existingEvent.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(ETags.of(existingEvent.getVersion())).build();
+        }
+        int limitOfEnrollment = existingEvent.getLimitOfEnrollment();
+        this.eventMapper.update(eventDto, existingEvent);
+        Event savedEvent;
+        try {
+            savedEvent = this.eventRepository.save(existingEvent);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        this.eventSearchIndex.index(savedEvent);
+        if (savedEvent.getLimitOfEnrollment() != limitOfEnrollment) {
+            this.enrollmentService.capacityChanged(savedEvent);
+        }
         EventResource eventResource = new EventResource(savedEvent);
-        eventResource.add(new Link("/docs/index.html#resoucres-events-update").withRel("profile"));
+        eventResource.add(PROFILE_UPDATE);
 
-        return ResponseEntity.ok(eventResource);
+        return ResponseEntity.ok().eTag(ETags.of(savedEvent.getVersion())).body(eventResource);
+    }
+
+    /**
+     * 이벤트 부분 수정 (JSON Merge Patch). 보낸 필드 중 값이 바뀐 것만 검증하고 그 컬럼만 UPDATE 한다.
+     * 바뀐 게 없으면 쓰지 않고 지금 이벤트를 돌려준다. If-Match 가 있으면 버전이 맞아야 하고 아니면 412 다.
+     */
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_VALUE)
+    public ResponseEntity patchEvent(@PathVariable Integer id, @RequestBody JsonNode patch
+            , @CurrentUser Account currentUser
+            , @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Event existingEvent = optionalEvent.get();
+        if (currentUser == null || !currentUser.equals(existingEvent.getManager())) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+        if (ifMatch != null && !ETags.strongMatches(ifMatch, ETags.of(existingEvent.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(ETags.of(existingEvent.getVersion())).build();
+        }
+
+        Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+        Set<String> changed = this.eventPatcher.apply(patch, existingEvent, errors);
+        if (errors.hasErrors()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+
+        Event savedEvent = existingEvent;
+        if (!changed.isEmpty()) {
+            try {
+                savedEvent = this.eventRepository.save(existingEvent);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            if (changed.contains("name") || changed.contains("description")) {
+                this.eventSearchIndex.index(savedEvent);
+            }
+            if (changed.contains("limitOfEnrollment")) {
+                this.enrollmentService.capacityChanged(savedEvent);
+            }
+        }
+        EventResource eventResource = new EventResource(savedEvent);
+        eventResource.add(PROFILE_PATCH);
+
+        return ResponseEntity.ok().eTag(ETags.of(savedEvent.getVersion())).body(eventResource);
+    }
+
+    private ResponseEntity updateEventIfVersionMatches(Integer id, long version, EventDto eventDto, Errors errors,
+                                                       Account currentUser) {
+        if (!errors.hasErrors()) {
+            this.eventValidator.validate(eventDto, errors);
+        }
+        if (errors.hasErrors()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+
+        Event values = this.eventMapper.toEvent(eventDto);
+        values.update();
+        values.setId(id);
+        if (this.eventRepository.updateIfVersionMatches(id, version, currentUser.getId(), values) == 1) {
+            this.eventSearchIndex.index(values);
+            // 예전 정원을 읽지 않으므로 정원 행은 항상 맞춰 둔다. 신청을 받은 적 없는 이벤트면 아무 행도 바뀌지 않는다
+            this.enrollmentService.capacityChanged(values);
+            return ResponseEntity.noContent().eTag(ETags.of(version + 1)).build();
+        }
+
+        // 실패한 경우에만 이유를 찾으려고 읽는다
+        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Event existingEvent = optionalEvent.get();
+        if (!currentUser.equals(existingEvent.getManager())) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(ETags.of(existingEvent.getVersion())).build();
     }
 
 }
@@ -0,0 +1,43 @@
+package ko.springrestapi.events;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이벤트 전체 개수의 근사값.
+ * 매 목록 조회마다 count(*) 를 돌리는 대신 메모리에 들고 있다가 생성될 때마다 더해주고,
+ * 다른 노드에서 생긴 변경이나 직접 지운 행 때문에 생기는 오차는 주기적으로 다시 세어서 맞춘다.
+ * 세는 일은 시작할 때와 스케줄러 스레드에서만 하므로 목록 요청은 테이블을 읽지 않는다.
+ */
+@Component
+public class EventCountEstimator {
+
+    // 5분
+    static final long RESYNC_INTERVAL_MILLIS = 5 * 60 * 1000;
+
+    private final EventRepository eventRepository;
+    private final AtomicLong count = new AtomicLong();
+
+    public EventCountEstimator(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /** 시작한 뒤 처음 다시 세기 전까지는 0 에서 생성된 만큼만 더한 값이다 */
+    public long estimate() {
+        return Math.max(count.get(), 0);
+    }
+
+    public void added(long events) {
+        count.addAndGet(events);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelay = RESYNC_INTERVAL_MILLIS, fixedDelay = RESYNC_INTERVAL_MILLIS)
+    public void resync() {
+        count.set(eventRepository.count());
+    }
+}
@@ -0,0 +1,80 @@
+package ko.springrestapi.events;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+
+/**
+ * 커서 기반(keyset) 페이지 위치.
+ * (정렬 키 값, id) 쌍을 기준으로 그 다음(또는 이전) 행부터 읽도록 한다.
+ * 클라이언트에게는 {@link #encode()} 결과만 불투명한 문자열로 노출한다.
+ */
+@Getter
+public class EventCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final EventSortKey sortKey;
+    private final Sort.Direction direction;
+    private final boolean backward;
+    private final Comparable<?> value;
+    private final Integer id;
+
+    private EventCursor(EventSortKey sortKey, Sort.Direction direction, boolean backward, Comparable<?> value, Integer id) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.backward = backward;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static EventCursor first(EventSortKey sortKey, Sort.Direction direction) {
+        return new EventCursor(sortKey, direction, false, null, null);
+    }
+
+    public EventCursor after(EventSummary event) {
+        return new EventCursor(sortKey, direction, false, sortKey.valueOf(event), event.getId());
+    }
+
+    public EventCursor before(EventSummary event) {
+        return new EventCursor(sortKey, direction, true, sortKey.valueOf(event), event.getId());
+    }
+
+    public boolean hasPosition() {
+        return id != null;
+    }
+
+    /**
+     * 실제로 인덱스를 읽어 나가는 방향. 이전 페이지를 읽을 때는 정렬 방향을 뒤집어서 읽는다.
+     */
+    public boolean isScanAscending() {
+        return direction.isAscending() != backward;
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + direction.name() + SEPARATOR + (backward ? "b" : "f")
+                + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split(SEPARATOR, 5);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        EventSortKey sortKey = EventSortKey.valueOf(parts[0]);
+        Comparable<?> value;
+        try {
+            value = sortKey.parse(parts[4]);
+        } catch (DateTimeException e) {
+            // 날짜 정렬 키 값을 고친 커서도 다른 잘못된 커서처럼 400 이 되도록 같은 예외로 바꾼다
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        return new EventCursor(sortKey, Sort.Direction.valueOf(parts[1]), "b".equals(parts[2]),
+                value, Integer.valueOf(parts[3]));
+    }
+}
@@ -0,0 +1,53 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * 이벤트 전체를 NDJSON (한 줄에 EventSummary 하나) 으로 쓴다.
+ * 행을 하나씩 읽어 바로 쓰므로 힙 사용량은 행 수와 상관없이 일정하다.
+ */
+@Component
+public class EventExporter {
+
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter summaryWriter;
+
+    public EventExporter(EventRepository eventRepository, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        // 행마다 flush 하면 응답이 행 단위로 잘게 나가므로 버퍼가 찰 때만 내보낸다
+        this.summaryWriter = objectMapper.writerFor(EventSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public long export(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        long count = 0;
+        try (Stream<EventSummary> summaries = eventRepository.streamSummariesBy()) {
+            for (EventSummary summary : (Iterable<EventSummary>) summaries::iterator) {
+                summaryWriter.writeValue(generator, summary);
+                count++;
+            }
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+        return count;
+    }
+}
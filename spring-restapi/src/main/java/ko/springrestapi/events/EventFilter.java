@@ -0,0 +1,42 @@
+package ko.springrestapi.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * GET /api/events 의 검색 조건. 지정한 조건만 AND 로 묶는다.
+ * 기간 조건은 From 이상, To 미만이다.
+ */
+@Getter
+@Setter
+public class EventFilter {
+
+    private EventStatus eventStatus;
+    private Boolean free;
+    private Boolean offline;
+    /** 관리자 계정 id */
+    private Integer manager;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endEventFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endEventTo;
+
+    public boolean isEmpty() {
+        return eventStatus == null && free == null && offline == null && manager == null
+                && beginEnrollmentFrom == null && beginEnrollmentTo == null
+                && beginEventFrom == null && beginEventTo == null
+                && endEventFrom == null && endEventTo == null;
+    }
+}
@@ -0,0 +1,54 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NDJSON 가져오기 결과. 에러는 앞에서부터 MAX_ERRORS 개까지만 담는다.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventImportResult {
+
+    static final int MAX_ERRORS = 100;
+
+    private long read;
+
+    private long imported;
+
+    private long rejected;
+
+    private final List<EventBatchError> errors = new ArrayList<>();
+
+    private boolean errorsTruncated;
+
+    private String failure;
+
+    void read() {
+        this.read++;
+    }
+
+    void imported(int count) {
+        this.imported += count;
+    }
+
+    void rejected(EventBatchError error) {
+        this.rejected++;
+        if (this.errors.size() < MAX_ERRORS) {
+            this.errors.add(error);
+        } else {
+            this.errorsTruncated = true;
+        }
+    }
+
+    void failed(String failure) {
+        this.failure = failure;
+    }
+
+    public boolean isCompleted() {
+        return this.failure == null;
+    }
+}
@@ -0,0 +1,98 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ko.springrestapi.accounts.Account;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NDJSON (한 줄에 EventDto 하나) 을 읽으면서 바로 저장한다.
+ * 본문은 파서가 한 줄씩 읽고, 검증을 통과한 이벤트는 CHUNK_SIZE 개마다 한 트랜잭션으로 저장하므로
+ * 힙에는 파서 버퍼와 청크 하나만 남는다. 이미 저장한 청크는 뒤에서 실패해도 되돌리지 않는다.
+ */
+@Component
+public class EventImporter {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final EventService eventService;
+    private final EventMapper eventMapper;
+    private final EventValidator eventValidator;
+    private final EventCountEstimator eventCountEstimator;
+    private final EventSearchIndex eventSearchIndex;
+    private final SpringValidatorAdapter beanValidator;
+    private final ObjectReader eventDtoReader;
+
+    public EventImporter(EventService eventService, EventMapper eventMapper, EventValidator eventValidator,
+                         EventCountEstimator eventCountEstimator, EventSearchIndex eventSearchIndex,
+                         Validator validator, ObjectMapper objectMapper) {
+        this.eventService = eventService;
+        this.eventMapper = eventMapper;
+        this.eventValidator = eventValidator;
+        this.eventCountEstimator = eventCountEstimator;
+        this.eventSearchIndex = eventSearchIndex;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.eventDtoReader = objectMapper.readerFor(EventDto.class);
+    }
+
+    public EventImportResult importFrom(InputStream inputStream, Account manager) throws IOException {
+        EventImportResult result = new EventImportResult();
+        List<Event> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (MappingIterator<EventDto> eventDtos = eventDtoReader.readValues(inputStream)) {
+            long index = 0;
+            while (eventDtos.hasNextValue()) {
+                EventDto eventDto = eventDtos.nextValue();
+                result.read();
+
+                Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+                beanValidator.validate(eventDto, errors);
+                if (!errors.hasErrors()) {
+                    eventValidator.validate(eventDto, errors);
+                }
+                if (errors.hasErrors()) {
+                    result.rejected(new EventBatchError(index++, errors));
+                    continue;
+                }
+                index++;
+
+                Event event = eventMapper.toEvent(eventDto);
+                event.update();
+                event.setManager(manager);
+                chunk.add(event);
+                if (chunk.size() == CHUNK_SIZE) {
+                    save(chunk, result);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            result.failed("Line " + (e.getLocation() == null ? "?" : e.getLocation().getLineNr())
+                    + ": " + e.getOriginalMessage());
+        }
+
+        // 잘못된 줄을 만나 멈췄더라도 그 앞까지 검증을 통과한 이벤트는 저장한다
+        save(chunk, result);
+        return result;
+    }
+
+    private void save(List<Event> chunk, EventImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        eventService.createAll(chunk);
+        eventCountEstimator.added(chunk.size());
+        eventSearchIndex.index(chunk);
+        result.imported(chunk.size());
+        chunk.clear();
+    }
+}
@@ -0,0 +1,135 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Event 와 EventSummary 를 기본 bean 직렬화와 같은 모양 (필드 선언 순서, null 포함) 으로 직접 쓴다.
+ * 필드 이름은 미리 인코딩해 두고, 날짜는 jsr310 LocalDateTimeSerializer 의 기본값과 같은
+ * ISO_LOCAL_DATE_TIME 으로 쓴다. WRITE_DATES_AS_TIMESTAMPS 가 켜져 있으면 날짜만 기본 직렬화에 맡긴다.
+ */
+final class EventJson {
+
+    static final SerializedString ID = new SerializedString("id");
+    static final SerializedString NAME = new SerializedString("name");
+    static final SerializedString DESCRIPTION = new SerializedString("description");
+    static final SerializedString BEGIN_ENROLLMENT_DATE_TIME = new SerializedString("beginEnrollmentDateTime");
+    static final SerializedString CLOSE_ENROLLMENT_DATE_TIME = new SerializedString("closeEnrollmentDateTime");
+    static final SerializedString BEGIN_EVENT_DATE_TIME = new SerializedString("beginEventDateTime");
+    static final SerializedString END_EVENT_DATE_TIME = new SerializedString("endEventDateTime");
+    static final SerializedString LOCATION = new SerializedString("location");
+    static final SerializedString BASE_PRICE = new SerializedString("basePrice");
+    static final SerializedString MAX_PRICE = new SerializedString("maxPrice");
+    static final SerializedString LIMIT_OF_ENROLLMENT = new SerializedString("limitOfEnrollment");
+    static final SerializedString FREE = new SerializedString("free");
+    static final SerializedString OFFLINE = new SerializedString("offline");
+    static final SerializedString EVENT_STATUS = new SerializedString("eventStatus");
+    static final SerializedString MANAGER = new SerializedString("manager");
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private EventJson() {
+    }
+
+    /** 객체를 열고 닫는 건 호출하는 쪽에서 한다 */
+    static void writeFields(Event event, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeInteger(gen, ID, event.getId());
+        writeString(gen, NAME, event.getName());
+        writeString(gen, DESCRIPTION, event.getDescription());
+        writeDateTime(gen, provider, BEGIN_ENROLLMENT_DATE_TIME, event.getBeginEnrollmentDateTime());
+        writeDateTime(gen, provider, CLOSE_ENROLLMENT_DATE_TIME, event.getCloseEnrollmentDateTime());
+        writeDateTime(gen, provider, BEGIN_EVENT_DATE_TIME, event.getBeginEventDateTime());
+        writeDateTime(gen, provider, END_EVENT_DATE_TIME, event.getEndEventDateTime());
+        writeString(gen, LOCATION, event.getLocation());
+        writeInt(gen, BASE_PRICE, event.getBasePrice());
+        writeInt(gen, MAX_PRICE, event.getMaxPrice());
+        writeInt(gen, LIMIT_OF_ENROLLMENT, event.getLimitOfEnrollment());
+        writeBoolean(gen, FREE, event.isFree());
+        writeBoolean(gen, OFFLINE, event.isOffline());
+        writeStatus(gen, event.getEventStatus());
+        // AccountSerializer 와 같이 id 만 쓴다
+        writeManager(gen, event.getManager() == null ? null : event.getManager().getId());
+    }
+
+    static void writeFields(EventSummary event, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeInteger(gen, ID, event.getId());
+        writeString(gen, NAME, event.getName());
+        writeString(gen, DESCRIPTION, event.getDescription());
+        writeDateTime(gen, provider, BEGIN_ENROLLMENT_DATE_TIME, event.getBeginEnrollmentDateTime());
+        writeDateTime(gen, provider, CLOSE_ENROLLMENT_DATE_TIME, event.getCloseEnrollmentDateTime());
+        writeDateTime(gen, provider, BEGIN_EVENT_DATE_TIME, event.getBeginEventDateTime());
+        writeDateTime(gen, provider, END_EVENT_DATE_TIME, event.getEndEventDateTime());
+        writeString(gen, LOCATION, event.getLocation());
+        writeInt(gen, BASE_PRICE, event.getBasePrice());
+        writeInt(gen, MAX_PRICE, event.getMaxPrice());
+        writeInt(gen, LIMIT_OF_ENROLLMENT, event.getLimitOfEnrollment());
+        writeBoolean(gen, FREE, event.isFree());
+        writeBoolean(gen, OFFLINE, event.isOffline());
+        writeStatus(gen, event.getEventStatus());
+        writeManager(gen, event.getManager() == null ? null : event.getManager().getId());
+    }
+
+    /** managerId 가 null 이면 manager 가 없는 것으로 본다 */
+    private static void writeManager(JsonGenerator gen, Integer managerId) throws IOException {
+        gen.writeFieldName(MANAGER);
+        if (managerId == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        writeInteger(gen, ID, managerId);
+        gen.writeEndObject();
+    }
+
+    private static void writeStatus(JsonGenerator gen, EventStatus status) throws IOException {
+        gen.writeFieldName(EVENT_STATUS);
+        if (status == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(status.name());
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator gen, SerializerProvider provider, SerializableString name,
+                                      LocalDateTime value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeString(DATE_TIME_FORMATTER.format(value));
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    private static void writeInteger(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeInt(JsonGenerator gen, SerializableString name, int value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    private static void writeBoolean(JsonGenerator gen, SerializableString name, boolean value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeBoolean(value);
+    }
+}
@@ -0,0 +1,153 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * JSON Merge Patch (RFC 7386) 를 이벤트에 적용한다. 이벤트 필드는 모두 평평하므로 patch 의 속성이 곧 바꿀 필드다.
+ * patch 에 들어 있고 값이 실제로 바뀐 필드만 검증한다. 가격이 바뀌면 가격 규칙, 날짜가 바뀌면 날짜 규칙만 본다.
+ * free, offline 은 가격이나 장소가 바뀔 때만 다시 계산한다.
+ * Event 는 @DynamicUpdate 라 바뀐 컬럼만 UPDATE 한다.
+ * 상태는 관리자가 직접 하는 DRAFT ↔ PUBLISHED 만 바꿀 수 있다. BEGAN_ENROLLMENT 는 {@link EventStatusScheduler} 가 바꾼다.
+ */
+@Component
+public class EventPatcher {
+
+    static final String EVENT_STATUS = "eventStatus";
+
+    private static final Set<String> PRICES = Set.of("basePrice", "maxPrice");
+    private static final Set<String> DATES = Set.of("beginEnrollmentDateTime", "closeEnrollmentDateTime",
+            "beginEventDateTime", "endEventDateTime");
+    private static final Set<String> FREE_OR_OFFLINE = Set.of("basePrice", "maxPrice", "location");
+
+    private final EventMapper eventMapper;
+    private final EventValidator eventValidator;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public EventPatcher(EventMapper eventMapper, EventValidator eventValidator, Validator validator,
+                        ObjectMapper objectMapper) {
+        this.eventMapper = eventMapper;
+        this.eventValidator = eventValidator;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * patch 를 검증하고 문제가 없으면 event 에 적용한다. 에러가 있으면 event 는 건드리지 않는다.
+     *
+     * @return 값이 바뀐 속성 이름
+     */
+    public Set<String> apply(JsonNode patch, Event event, Errors errors) {
+        if (patch == null || !patch.isObject()) {
+            errors.reject("notAnObject", "Merge patch must be a JSON object");
+            return Collections.emptySet();
+        }
+
+        EventDto eventDto = eventMapper.toDto(event);
+        BeanWrapper dto = PropertyAccessorFactory.forBeanPropertyAccess(eventDto);
+        EventStatus eventStatus = event.getEventStatus();
+        Set<String> changed = new LinkedHashSet<>();
+
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String property = field.getKey();
+            JsonNode value = field.getValue();
+
+            if (EVENT_STATUS.equals(property)) {
+                EventStatus newStatus = read(value, EventStatus.class, property, errors);
+                if (newStatus == null) {
+                    if (value.isNull()) {
+                        errors.rejectValue(property, "NotNull", "must not be null");
+                    }
+                } else if (newStatus != eventStatus) {
+                    if (!isManualTransition(eventStatus, newStatus)) {
+                        errors.rejectValue(property, "wrongTransition",
+                                "Cannot change eventStatus from " + eventStatus + " to " + newStatus);
+                        continue;
+                    }
+                    eventStatus = newStatus;
+                    changed.add(property);
+                }
+                continue;
+            }
+            if (!dto.isWritableProperty(property)) {
+                errors.rejectValue(property, "unknownProperty", "Unknown property: " + property);
+                continue;
+            }
+
+            Class<?> type = dto.getPropertyType(property);
+            if (value.isNull() && type.isPrimitive()) {
+                errors.rejectValue(property, "NotNull", "must not be null");
+                continue;
+            }
+            Object newValue = value.isNull() ? null : read(value, type, property, errors);
+            if (newValue == null && !value.isNull()) {
+                continue;
+            }
+            if (!Objects.equals(dto.getPropertyValue(property), newValue)) {
+                dto.setPropertyValue(property, newValue);
+                changed.add(property);
+            }
+        }
+        if (errors.hasErrors()) {
+            return Collections.emptySet();
+        }
+
+        for (String property : changed) {
+            if (EVENT_STATUS.equals(property)) {
+                continue;
+            }
+            for (ConstraintViolation<EventDto> violation : validator.validateProperty(eventDto, property)) {
+                errors.rejectValue(property,
+                        violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName(),
+                        violation.getMessage());
+            }
+        }
+        if (!Collections.disjoint(changed, PRICES)) {
+            eventValidator.validatePrices(eventDto, errors);
+        }
+        if (!Collections.disjoint(changed, DATES)) {
+            eventValidator.validateDates(eventDto, errors);
+        }
+        if (errors.hasErrors()) {
+            return Collections.emptySet();
+        }
+
+        // 바뀌지 않은 필드는 같은 값을 다시 넣으므로 Hibernate 가 dirty 로 보지 않는다
+        eventMapper.update(eventDto, event);
+        event.setEventStatus(eventStatus);
+        if (!Collections.disjoint(changed, FREE_OR_OFFLINE)) {
+            event.update();
+        }
+        return changed;
+    }
+
+    static boolean isManualTransition(EventStatus from, EventStatus to) {
+        return (from == EventStatus.DRAFT && to == EventStatus.PUBLISHED)
+                || (from == EventStatus.PUBLISHED && to == EventStatus.DRAFT);
+    }
+
+    private <T> T read(JsonNode value, Class<T> type, String property, Errors errors) {
+        try {
+            return objectMapper.treeToValue(value, type);
+        } catch (JsonProcessingException e) {
+            errors.rejectValue(property, "typeMismatch", "Cannot read " + property + " as " + type.getSimpleName());
+            return null;
+        }
+    }
+}
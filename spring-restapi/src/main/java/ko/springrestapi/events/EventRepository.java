@@ -1,8 +1,54 @@
 package ko.springrestapi.events;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface EventRepository extends JpaRepository<Event, Integer> {
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+public interface EventRepository extends JpaRepository<Event, Integer>, EventRepositoryCustom {
+
+    String SUMMARY = "select new ko.springrestapi.events.EventSummary(e.id, e.version, e.name, e.description, "
+            + "e.beginEnrollmentDateTime, e.closeEnrollmentDateTime, e.beginEventDateTime, e.endEventDateTime, "
+            + "e.location, e.basePrice, e.maxPrice, e.limitOfEnrollment, e.free, e.offline, e.eventStatus, m.id) "
+            + "from Event e left join e.manager m";
+
+    /**
+     * 내보내기용 전진 전용 스트림. 반드시 트랜잭션 안에서 끝까지 읽고 닫아야 한다.
+     * DTO 프로젝션이라 영속성 컨텍스트에 쌓이는 엔티티가 없고, fetch size 만큼씩 DB 커서에서 가져온다.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SUMMARY + " order by e.id")
+    Stream<EventSummary> streamSummariesBy();
+
+    @Query(SUMMARY)
+    Slice<EventSummary> findSummarySliceBy(Pageable pageable);
+
+    @Query(SUMMARY + " where e.id in :ids")
+    List<EventSummary> findSummariesByIdIn(Collection<Integer> ids);
+
+    Page<EventVersion> findVersionsBy(Pageable pageable);
+
+    @Query("select e.version from Event e where e.id = :id")
+    Optional<Long> findVersionById(Integer id);
+
+    /** (from, to] 사이에 등록이 열리는 공개 이벤트의 등록 시작 시각. idx_event_status_begin_enrollment 범위 스캔 */
+    @Query("select distinct e.beginEnrollmentDateTime from Event e where e.eventStatus = :status "
+            + "and e.beginEnrollmentDateTime > :from and e.beginEnrollmentDateTime <= :to "
+            + "order by e.beginEnrollmentDateTime")
+    List<LocalDateTime> findBeginEnrollmentDateTimes(EventStatus status, LocalDateTime from, LocalDateTime to,
+                                                     Pageable pageable);
 
 }
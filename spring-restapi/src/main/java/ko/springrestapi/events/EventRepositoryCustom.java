@@ -0,0 +1,38 @@
+package ko.springrestapi.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * 커서 위치 바로 다음부터 최대 limit 개의 이벤트를 커서가 읽는 방향 순서대로 돌려준다.
+     * OFFSET 없이 (정렬 키, id) 조건으로 찾아 들어가므로 페이지 깊이와 상관없이 비용이 같다.
+     */
+    List<EventSummary> findByCursor(EventCursor cursor, int limit);
+
+    /**
+     * 조건에 맞는 이벤트 한 페이지. 정렬은 {@link EventSortKey} 에 있는 속성만 받고, 동률은 id 로 끊는다.
+     */
+    Page<EventSummary> findSummaries(EventFilter filter, Pageable pageable);
+
+    /**
+     * 버전과 관리자가 맞을 때만 한 번의 UPDATE 로 이벤트를 고치고 버전을 올린다. 엔티티를 읽지 않는다.
+     * values 에서는 EventDto 로 바꿀 수 있는 필드와 free, offline 만 쓴다.
+     *
+     * @return 고쳤으면 1, 이벤트가 없거나 버전이나 관리자가 다르면 0
+     */
+    int updateIfVersionMatches(Integer id, long version, Integer managerId, Event values);
+
+    /**
+     * 등록 시작 시각이 지난 공개 이벤트를 BEGAN_ENROLLMENT 로 바꾸고 버전을 올린다.
+     * 바꿀 id 를 idx_event_status_begin_enrollment 로 먼저 읽어서 없으면 UPDATE 하지 않고,
+     * 있으면 그 이벤트만 2차 캐시에서 지운다.
+     *
+     * @return 상태가 바뀐 이벤트 수
+     */
+    int beginEnrollment(LocalDateTime now);
+}
@@ -0,0 +1,246 @@
+package ko.springrestapi.events;
+
+import ko.springrestapi.accounts.Account;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.LocalDateTimeType;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    // 네이티브 UPDATE 가 Event 2차 캐시 영역 전체를 비우지 않도록 어떤 엔티티와도 겹치지 않는 query space 를 준다.
+    // 고친 이벤트만 직접 evict 한다
+    private static final String NATIVE_UPDATE_SPACE = "event_native_update";
+
+    // IN 목록이 너무 길어지지 않도록 나눠서 UPDATE 한다
+    private static final int BEGIN_ENROLLMENT_CHUNK_SIZE = 1000;
+
+    private static final String UPDATE_IF_VERSION_MATCHES = "update event set name = ?1, description = ?2, "
+            + "begin_enrollment_date_time = ?3, close_enrollment_date_time = ?4, begin_event_date_time = ?5, "
+            + "end_event_date_time = ?6, location = ?7, base_price = ?8, max_price = ?9, limit_of_enrollment = ?10, "
+            + "free = ?11, offline = ?12, version = version + 1 "
+            + "where id = ?13 and version = ?14 and manager_id = ?15";
+
+    private static final String FIND_IDS_TO_BEGIN_ENROLLMENT = "select e.id from Event e "
+            + "where e.eventStatus = :status and e.beginEnrollmentDateTime <= :now";
+
+    // 읽은 뒤에 상태나 등록 시작 시각이 바뀐 이벤트는 건드리지 않도록 조건을 한 번 더 확인한다
+    private static final String BEGIN_ENROLLMENT = "update event set event_status = :began, version = version + 1 "
+            + "where id in (:ids) and event_status = :published and begin_enrollment_date_time <= :now";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<EventSummary> findByCursor(EventCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventSummary> query = cb.createQuery(EventSummary.class);
+        Root<Event> event = query.from(Event.class);
+        selectSummary(cb, query, event);
+
+        Path<Integer> id = event.get("id");
+        Path<Comparable> sortKey = event.get(cursor.getSortKey().getProperty());
+        boolean ascending = cursor.isScanAscending();
+
+        if (cursor.hasPosition()) {
+            Predicate afterId = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+            if (cursor.getSortKey() == EventSortKey.ID) {
+                query.where(afterId);
+            } else {
+                Comparable value = cursor.getValue();
+                Predicate afterValue = ascending ? cb.greaterThan(sortKey, value) : cb.lessThan(sortKey, value);
+                query.where(cb.or(afterValue, cb.and(cb.equal(sortKey, value), afterId)));
+            }
+        }
+
+        if (cursor.getSortKey() == EventSortKey.ID) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(ascending ? cb.asc(sortKey) : cb.desc(sortKey), ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Page<EventSummary> findSummaries(EventFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<EventSummary> query = cb.createQuery(EventSummary.class);
+        Root<Event> event = query.from(Event.class);
+        selectSummary(cb, query, event);
+        query.where(predicates(cb, event, filter));
+
+        // 동률은 마지막 정렬과 같은 방향의 id 로 끊어서 (속성, id) 인덱스를 그대로 읽게 한다
+        List<Order> orders = new ArrayList<>();
+        boolean sortedById = false;
+        boolean ascending = true;
+        for (Sort.Order order : pageable.getSort()) {
+            EventSortKey sortKey = EventSortKey.fromProperty(order.getProperty())
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported sort key: " + order.getProperty()));
+            Path<?> path = event.get(sortKey.getProperty());
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+            sortedById |= sortKey == EventSortKey.ID;
+            ascending = order.isAscending();
+        }
+        if (!sortedById) {
+            orders.add(ascending ? cb.asc(event.get("id")) : cb.desc(event.get("id")));
+        }
+        query.orderBy(orders);
+
+        TypedQuery<EventSummary> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(filter));
+    }
+
+    @Override
+    @Transactional
+    public int updateIfVersionMatches(Integer id, long version, Integer managerId, Event values) {
+        // null 이 들어갈 수 있는 파라미터도 타입을 알 수 있게 Hibernate 타입을 같이 준다
+        int updated = entityManager.createNativeQuery(UPDATE_IF_VERSION_MATCHES)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(NATIVE_UPDATE_SPACE)
+                .setParameter(1, values.getName(), StandardBasicTypes.STRING)
+                .setParameter(2, values.getDescription(), StandardBasicTypes.STRING)
+                .setParameter(3, values.getBeginEnrollmentDateTime(), LocalDateTimeType.INSTANCE)
+                .setParameter(4, values.getCloseEnrollmentDateTime(), LocalDateTimeType.INSTANCE)
+                .setParameter(5, values.getBeginEventDateTime(), LocalDateTimeType.INSTANCE)
+                .setParameter(6, values.getEndEventDateTime(), LocalDateTimeType.INSTANCE)
+                .setParameter(7, values.getLocation(), StandardBasicTypes.STRING)
+                .setParameter(8, values.getBasePrice(), StandardBasicTypes.INTEGER)
+                .setParameter(9, values.getMaxPrice(), StandardBasicTypes.INTEGER)
+                .setParameter(10, values.getLimitOfEnrollment(), StandardBasicTypes.INTEGER)
+                .setParameter(11, values.isFree(), StandardBasicTypes.BOOLEAN)
+                .setParameter(12, values.isOffline(), StandardBasicTypes.BOOLEAN)
+                .setParameter(13, id, StandardBasicTypes.INTEGER)
+                .setParameter(14, version, StandardBasicTypes.LONG)
+                .setParameter(15, managerId, StandardBasicTypes.INTEGER)
+                .executeUpdate();
+
+        if (updated > 0) {
+            evictAfterCommit(List.of(id));
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int beginEnrollment(LocalDateTime now) {
+        List<Integer> ids = entityManager.createQuery(FIND_IDS_TO_BEGIN_ENROLLMENT, Integer.class)
+                .setParameter("status", EventStatus.PUBLISHED)
+                .setParameter("now", now)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BEGIN_ENROLLMENT_CHUNK_SIZE) {
+            updated += entityManager.createNativeQuery(BEGIN_ENROLLMENT)
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedQuerySpace(NATIVE_UPDATE_SPACE)
+                    .setParameter("began", EventStatus.BEGAN_ENROLLMENT.name())
+                    .setParameter("published", EventStatus.PUBLISHED.name())
+                    .setParameter("now", now, LocalDateTimeType.INSTANCE)
+                    .setParameterList("ids", ids.subList(from, Math.min(from + BEGIN_ENROLLMENT_CHUNK_SIZE, ids.size())))
+                    .executeUpdate();
+        }
+        evictAfterCommit(ids);
+        return updated;
+    }
+
+    /**
+     * 커밋 전에 다른 트랜잭션이 예전 행을 다시 캐시에 올릴 수 있으므로 지금 한 번, 커밋 뒤에 한 번 더 지운다.
+     */
+    private void evictAfterCommit(List<Integer> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(Event.class, id));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(id -> cache.evict(Event.class, id));
+            }
+        });
+    }
+
+    private long count(EventFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(cb.count(event)).where(predicates(cb, event, filter));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void selectSummary(CriteriaBuilder cb, CriteriaQuery<EventSummary> query, Root<Event> event) {
+        Join<Event, Account> manager = event.join("manager", JoinType.LEFT);
+        query.select(cb.construct(EventSummary.class, event.get("id"), event.get("version"), event.get("name"),
+                event.get("description"), event.get("beginEnrollmentDateTime"), event.get("closeEnrollmentDateTime"),
+                event.get("beginEventDateTime"), event.get("endEventDateTime"), event.get("location"),
+                event.get("basePrice"), event.get("maxPrice"), event.get("limitOfEnrollment"), event.get("free"),
+                event.get("offline"), event.get("eventStatus"), manager.get("id")));
+    }
+
+    /**
+     * 조건 순서는 Event 의 인덱스 컬럼 순서와 맞춘다. (상태, 무료, 오프라인, 이벤트 시작) 와 (관리자, 이벤트 시작)
+     */
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Event> event, EventFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getEventStatus() != null) {
+            predicates.add(cb.equal(event.get("eventStatus"), filter.getEventStatus()));
+        }
+        if (filter.getFree() != null) {
+            predicates.add(cb.equal(event.get("free"), filter.getFree()));
+        }
+        if (filter.getOffline() != null) {
+            predicates.add(cb.equal(event.get("offline"), filter.getOffline()));
+        }
+        if (filter.getManager() != null) {
+            // manager.id 는 외래 키 컬럼이라 조인 없이 비교한다
+            predicates.add(cb.equal(event.get("manager").get("id"), filter.getManager()));
+        }
+        addRange(cb, predicates, event.get("beginEnrollmentDateTime"),
+                filter.getBeginEnrollmentFrom(), filter.getBeginEnrollmentTo());
+        addRange(cb, predicates, event.get("beginEventDateTime"), filter.getBeginEventFrom(), filter.getBeginEventTo());
+        addRange(cb, predicates, event.get("endEventDateTime"), filter.getEndEventFrom(), filter.getEndEventTo());
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static void addRange(CriteriaBuilder cb, List<Predicate> predicates, Path<LocalDateTime> path,
+                                 LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(path, to));
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package ko.springrestapi.events;
 
+import ko.springrestapi.common.RequestLinks;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 public class EventResource extends EntityModel<Event> {
 
     public EventResource(Event event, Link... links) {
         super(event, links);
-        add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+        add(RequestLinks.linkTo(EventController.class, event.getId(), IanaLinkRelations.SELF));
     }
 }
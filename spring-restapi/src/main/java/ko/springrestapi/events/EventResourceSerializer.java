@@ -0,0 +1,24 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import ko.springrestapi.common.HalLinks;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * EventResource 를 HAL 모듈과 같은 바이트로 쓴다. (이벤트 필드 다음에 _links)
+ */
+@JsonComponent
+public class EventResourceSerializer extends JsonSerializer<EventResource> {
+
+    @Override
+    public void serialize(EventResource resource, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        EventJson.writeFields(resource.getContent(), gen, provider);
+        HalLinks.writeLinksField(resource.getLinks(), gen);
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,507 @@
+package ko.springrestapi.events;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 이벤트 이름과 설명에 대한 메모리 역색인. 검색 결과는 BM25 점수 순이다.
+ * 이벤트를 만들거나 고칠 때 {@link #index} 로 바로 반영하고, 애플리케이션이 뜰 때 DB 에서 다시 만든다.
+ * 다른 노드에서 생긴 변경은 다음 재시작 때 반영된다.
+ * <p>
+ * 문서마다 들어온 순서대로 내부 번호를 붙이고, 단어별 postings 에는 (내부 번호 차이, 빈도) 를 varint 로 이어 쓴다.
+ * 빈도가 1 이면 차이의 마지막 비트로 표시하고 빈도는 쓰지 않는다.
+ * 이벤트를 고치면 예전 번호는 지운 표시만 하고 새 번호로 다시 넣으므로 postings 는 항상 뒤에 붙이기만 한다.
+ * 지운 번호가 살아 있는 번호보다 많아지면 한 번에 모아서 정리한다.
+ */
+@Component
+public class EventSearchIndex {
+
+    /** offset + size 가 이보다 크면 검색하지 않는다 */
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    static final int MAX_QUERY_TERMS = 16;
+
+    // 이름에 나온 단어는 설명에 나온 단어보다 두 배로 센다
+    private static final int NAME_WEIGHT = 2;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final EventRepository eventRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Segment segment = new Segment();
+    // 다시 만드는 동안 들어온 변경. 새 색인에 다시 적용한다
+    private List<Consumer<Segment>> pending;
+
+    public EventSearchIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        try {
+            try (Stream<EventSummary> summaries = eventRepository.streamSummariesBy()) {
+                summaries.forEach(e -> fresh.add(e.getId(), e.getName(), e.getDescription()));
+            }
+            fresh.trim();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (fresh.trimmed) {
+                    pending.forEach(change -> change.accept(fresh));
+                    segment = fresh;
+                }
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void index(Event event) {
+        index(List.of(event));
+    }
+
+    public void index(Collection<Event> events) {
+        lock.writeLock().lock();
+        try {
+            for (Event event : events) {
+                int id = event.getId();
+                String name = event.getName();
+                String description = event.getDescription();
+                segment.add(id, name, description);
+                if (pending != null) {
+                    pending.add(s -> s.add(id, name, description));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 단어 중 하나라도 들어간 이벤트의 id 를 점수 순으로 준다. 점수가 같으면 먼저 색인된 이벤트가 앞이다.
+     */
+    public Page<Integer> search(String query, Pageable pageable) {
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Result window is too large: " + pageable);
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, t -> {
+            if (terms.size() < MAX_QUERY_TERMS) {
+                terms.add(t);
+            }
+        });
+
+        lock.readLock().lock();
+        try {
+            return segment.search(terms, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 색인된 (지워지지 않은) 이벤트 수 */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 글자나 숫자가 이어진 부분을 소문자 단어 하나로 본다. 한글은 띄어쓰기 단위로 나뉜다.
+     */
+    static int tokenize(String text, Consumer<String> terms) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                terms.accept(text.substring(start, i).toLowerCase(Locale.ROOT));
+                count++;
+                start = -1;
+            }
+        }
+        return count;
+    }
+
+    private static final class Segment {
+
+        final Map<String, Postings> terms = new HashMap<>();
+        final IntIntMap docsByEventId = new IntIntMap();
+        final BitSet deleted = new BitSet();
+        int[] eventIds = new int[1024];
+        int[] lengths = new int[1024];
+        int maxDoc;
+        int liveDocs;
+        int deletedDocs;
+        long liveLength;
+        boolean trimmed;
+
+        void add(int eventId, String name, String description) {
+            remove(eventId);
+
+            Map<String, int[]> frequencies = new HashMap<>();
+            int length = NAME_WEIGHT * tokenize(name, t -> frequencies.computeIfAbsent(t, k -> new int[1])[0] += NAME_WEIGHT)
+                    + tokenize(description, t -> frequencies.computeIfAbsent(t, k -> new int[1])[0]++);
+            if (length == 0) {
+                return;
+            }
+
+            int doc = maxDoc++;
+            if (doc == eventIds.length) {
+                eventIds = Arrays.copyOf(eventIds, doc * 2);
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+            eventIds[doc] = eventId;
+            lengths[doc] = length;
+            docsByEventId.put(eventId, doc);
+            liveDocs++;
+            liveLength += length;
+            frequencies.forEach((term, frequency) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, frequency[0]));
+        }
+
+        void remove(int eventId) {
+            int doc = docsByEventId.remove(eventId);
+            if (doc < 0) {
+                return;
+            }
+            deleted.set(doc);
+            deletedDocs++;
+            liveDocs--;
+            liveLength -= lengths[doc];
+            if (deletedDocs > 1024 && deletedDocs > liveDocs) {
+                compact();
+            }
+        }
+
+        /**
+         * 지운 번호를 빼고 내부 번호를 앞으로 당긴다. 순서는 그대로라 postings 는 다시 이어 쓰기만 하면 된다.
+         */
+        void compact() {
+            int[] remap = new int[maxDoc];
+            int next = 0;
+            for (int doc = 0; doc < maxDoc; doc++) {
+                if (deleted.get(doc)) {
+                    remap[doc] = -1;
+                    continue;
+                }
+                remap[doc] = next;
+                eventIds[next] = eventIds[doc];
+                lengths[next] = lengths[doc];
+                docsByEventId.put(eventIds[next], next);
+                next++;
+            }
+
+            Iterator<Map.Entry<String, Postings>> entries = terms.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Postings> entry = entries.next();
+                Postings compacted = new Postings();
+                PostingsReader reader = entry.getValue().reader();
+                while (reader.next()) {
+                    if (remap[reader.doc] >= 0) {
+                        compacted.add(remap[reader.doc], reader.frequency);
+                    }
+                }
+                if (compacted.docFreq == 0) {
+                    entries.remove();
+                } else {
+                    compacted.trim();
+                    entry.setValue(compacted);
+                }
+            }
+
+            deleted.clear();
+            deletedDocs = 0;
+            maxDoc = next;
+        }
+
+        void trim() {
+            terms.values().forEach(Postings::trim);
+            trimmed = true;
+        }
+
+        Page<Integer> search(Set<String> queryTerms, Pageable pageable) {
+            List<PostingsReader> readers = new ArrayList<>(queryTerms.size());
+            List<Float> idfs = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Postings postings = terms.get(term);
+                if (postings == null) {
+                    continue;
+                }
+                // 지운 문서가 정리되기 전까지는 docFreq 에 남아 있으므로 살아 있는 문서 수로 자른다
+                int docFreq = Math.min(postings.docFreq, liveDocs);
+                idfs.add((float) Math.log(1 + (liveDocs - docFreq + 0.5) / (docFreq + 0.5)));
+                PostingsReader reader = postings.reader();
+                reader.next();
+                readers.add(reader);
+            }
+            if (readers.isEmpty()) {
+                return Page.empty(pageable);
+            }
+
+            int window = (int) pageable.getOffset() + pageable.getPageSize();
+            float averageLength = (float) liveLength / liveDocs;
+            // 가장 낮은 점수가 맨 위에 오는 상위 window 개
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(window, 1024));
+            long total = 0;
+            while (true) {
+                int doc = Integer.MAX_VALUE;
+                for (PostingsReader reader : readers) {
+                    doc = Math.min(doc, reader.doc);
+                }
+                if (doc == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                float score = 0;
+                float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                for (int i = 0; i < readers.size(); i++) {
+                    PostingsReader reader = readers.get(i);
+                    if (reader.doc == doc) {
+                        score += idfs.get(i) * reader.frequency * (K1 + 1) / (reader.frequency + norm);
+                        reader.next();
+                    }
+                }
+                if (deleted.get(doc)) {
+                    continue;
+                }
+
+                total++;
+                if (top.size() < window) {
+                    top.add(new Hit(doc, score));
+                } else if (top.peek().compareTo(doc, score) < 0) {
+                    top.poll();
+                    top.add(new Hit(doc, score));
+                }
+            }
+
+            int[] ranked = new int[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = eventIds[top.poll().doc];
+            }
+            List<Integer> content = new ArrayList<>(pageable.getPageSize());
+            for (int i = (int) pageable.getOffset(); i < ranked.length; i++) {
+                content.add(ranked[i]);
+            }
+            return new PageImpl<>(content, pageable, total);
+        }
+    }
+
+    private static final class Hit implements Comparable<Hit> {
+
+        final int doc;
+        final float score;
+
+        Hit(int doc, float score) {
+            this.doc = doc;
+            this.score = score;
+        }
+
+        /** 점수가 낮을수록, 같으면 나중에 색인된 문서일수록 작다 */
+        int compareTo(int otherDoc, float otherScore) {
+            int byScore = Float.compare(score, otherScore);
+            return byScore != 0 ? byScore : Integer.compare(otherDoc, doc);
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            return compareTo(other.doc, other.score);
+        }
+    }
+
+    private static final class Postings {
+
+        byte[] bytes = new byte[8];
+        int length;
+        int lastDoc = -1;
+        int docFreq;
+
+        void add(int doc, int frequency) {
+            int delta = doc - lastDoc;
+            if (frequency == 1) {
+                writeVInt((delta << 1) | 1);
+            } else {
+                writeVInt(delta << 1);
+                writeVInt(frequency);
+            }
+            lastDoc = doc;
+            docFreq++;
+        }
+
+        private void writeVInt(int value) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void trim() {
+            if (bytes.length != length) {
+                bytes = Arrays.copyOf(bytes, length);
+            }
+        }
+
+        PostingsReader reader() {
+            return new PostingsReader(bytes, length);
+        }
+    }
+
+    private static final class PostingsReader {
+
+        private final byte[] bytes;
+        private final int length;
+        private int position;
+        int doc = -1;
+        int frequency;
+
+        PostingsReader(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+        /** 다음 문서로 간다. 끝이면 doc 이 Integer.MAX_VALUE 가 된다 */
+        boolean next() {
+            if (position == length) {
+                doc = Integer.MAX_VALUE;
+                return false;
+            }
+            int code = readVInt();
+            doc += code >>> 1;
+            frequency = (code & 1) != 0 ? 1 : readVInt();
+            return true;
+        }
+
+        private int readVInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+
+    /**
+     * 이벤트 id 에서 내부 번호로 가는 int -> int 맵. 선형 탐사, 지울 때는 뒤 항목을 당겨 채운다.
+     */
+    private static final class IntIntMap {
+
+        private static final int FREE = Integer.MIN_VALUE;
+
+        private int[] keys;
+        private int[] values;
+        private int size;
+        private int mask;
+
+        IntIntMap() {
+            allocate(1024);
+        }
+
+        void put(int key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                int[] oldKeys = keys;
+                int[] oldValues = values;
+                allocate(keys.length * 2);
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != FREE) {
+                        put(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            for (int i = slot(key); ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                if (keys[i] == FREE) {
+                    keys[i] = key;
+                    values[i] = value;
+                    size++;
+                    return;
+                }
+            }
+        }
+
+        /** 지운 값, 없으면 -1 */
+        int remove(int key) {
+            int i = slot(key);
+            while (keys[i] != key) {
+                if (keys[i] == FREE) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+            int value = values[i];
+            for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                boolean between = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (!between) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = FREE;
+            size--;
+            return value;
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, FREE);
+            mask = capacity - 1;
+            size = 0;
+        }
+
+        private int slot(int key) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ko.springrestapi.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+@Service
+public class EventService {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    int batchSize;
+
+    /**
+     * 여러 이벤트를 한 트랜잭션으로 저장한다.
+     * jdbc.batch_size 만큼 persist 할 때마다 flush 해서 INSERT 를 JDBC 배치로 보내고,
+     * 영속성 컨텍스트를 비워 큰 요청에서도 1차 캐시가 계속 커지지 않게 한다.
+     * 반환되는 이벤트는 준영속 상태지만 id 와 version 은 채워져 있다.
+     */
+    @Transactional
+    public List<Event> createAll(List<Event> events) {
+        for (int i = 0; i < events.size(); i++) {
+            entityManager.persist(events.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return events;
+    }
+}
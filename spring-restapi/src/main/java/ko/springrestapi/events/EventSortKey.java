@@ -0,0 +1,56 @@
+package ko.springrestapi.events;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 목록 조회에서 정렬 기준으로 쓸 수 있는 속성 목록. 커서 기반 조회에서는 seek 기준이 된다.
+ * 모두 null 이 될 수 없는 컬럼이고, 동률은 항상 id 로 끊는다.
+ * 각 속성에는 (속성, id) 인덱스가 Event 에 있으므로 이 밖의 속성으로는 정렬하지 않는다.
+ */
+public enum EventSortKey {
+    ID("id", EventSummary::getId, Integer::valueOf),
+    NAME("name", EventSummary::getName, Function.identity()),
+    BEGIN_ENROLLMENT_DATE_TIME("beginEnrollmentDateTime", EventSummary::getBeginEnrollmentDateTime, LocalDateTime::parse),
+    CLOSE_ENROLLMENT_DATE_TIME("closeEnrollmentDateTime", EventSummary::getCloseEnrollmentDateTime, LocalDateTime::parse),
+    BEGIN_EVENT_DATE_TIME("beginEventDateTime", EventSummary::getBeginEventDateTime, LocalDateTime::parse),
+    END_EVENT_DATE_TIME("endEventDateTime", EventSummary::getEndEventDateTime, LocalDateTime::parse);
+
+    private final String property;
+    private final Function<EventSummary, ? extends Comparable<?>> getter;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    EventSortKey(String property, Function<EventSummary, ? extends Comparable<?>> getter,
+                 Function<String, ? extends Comparable<?>> parser) {
+        this.property = property;
+        this.getter = getter;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Comparable<?> valueOf(EventSummary event) {
+        return getter.apply(event);
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    /** 모든 정렬 속성이 목록에 있는지 */
+    public static boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> fromProperty(order.getProperty()).isPresent());
+    }
+
+    public static Optional<EventSortKey> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(k -> k.property.equals(property))
+                .findFirst();
+    }
+}
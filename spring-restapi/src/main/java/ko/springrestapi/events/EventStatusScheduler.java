@@ -0,0 +1,147 @@
+package ko.springrestapi.events;
+
+import ko.springrestapi.common.Lease;
+import ko.springrestapi.common.LeaseRepository;
+import ko.springrestapi.common.TimingWheel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 등록 시작 시각이 지난 공개 이벤트를 BEGAN_ENROLLMENT 로 바꾼다. DRAFT → PUBLISHED 는 관리자가 직접 하므로 시간으로 바꾸지 않는다.
+ * <p>
+ * 앞으로 LOAD_WINDOW 안에 올 등록 시작 시각만 idx_event_status_begin_enrollment 로 LOAD_LIMIT 개씩 읽어
+ * {@link TimingWheel} 에 넣어 두고, 1초마다 휠을 진행시켜 시각이 된 것이 있을 때만 {@link EventRepository#beginEnrollment} 를 부른다.
+ * 이 호출은 "등록 시작 시각이 지난 공개 이벤트 전부" 를 바꾸므로 같은 초에 열리는 이벤트가 몇 개든 한 번이고,
+ * 읽은 뒤에 공개되거나 시각이 바뀐 이벤트도 같이 바뀐다.
+ * 놓친 시각이 없도록 REFRESH_INTERVAL 마다 휠을 다시 채우면서 한 번 더 부르는데, 바꿀 이벤트가 없으면 SELECT 한 번으로 끝나고
+ * UPDATE 나 2차 캐시 evict 는 일어나지 않는다.
+ * <p>
+ * 여러 노드에서 돌면 scheduler_lease 행을 가진 노드 하나만 일한다. 임대는 매 tick 갱신하고,
+ * 갱신하지 못한 노드는 휠을 버렸다가 다시 가져가면 처음부터 채운다. 노드 시계가 LEASE_DURATION 보다 많이 어긋나면 안 된다.
+ */
+@Component
+public class EventStatusScheduler {
+
+    static final String LEASE_NAME = "event-status-scheduler";
+
+    static final long TICK_MILLIS = 1000;
+    static final Duration LEASE_DURATION = Duration.ofSeconds(30);
+    static final Duration LOAD_WINDOW = Duration.ofHours(1);
+    static final Duration REFRESH_INTERVAL = Duration.ofMinutes(1);
+    static final int LOAD_LIMIT = 10_000;
+
+    private final EventRepository eventRepository;
+    private final LeaseRepository leaseRepository;
+    private final String owner;
+    private final Clock clock;
+
+    private TimingWheel<LocalDateTime> wheel;
+    private LocalDateTime loadedUntil;
+    private LocalDateTime refreshAt;
+
+    @Autowired
+    public EventStatusScheduler(EventRepository eventRepository, LeaseRepository leaseRepository) {
+        this(eventRepository, leaseRepository, UUID.randomUUID().toString(), Clock.systemDefaultZone());
+    }
+
+    EventStatusScheduler(EventRepository eventRepository, LeaseRepository leaseRepository, String owner, Clock clock) {
+        this.eventRepository = eventRepository;
+        this.leaseRepository = leaseRepository;
+        this.owner = owner;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void tick() {
+        runDue();
+    }
+
+    /**
+     * 임대를 가졌으면 시각이 된 이벤트를 바꾼다.
+     *
+     * @return 상태가 바뀐 이벤트 수
+     */
+    synchronized int runDue() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (!acquireLease(now)) {
+            wheel = null;
+            return 0;
+        }
+
+        boolean due = false;
+        if (wheel == null || !now.isBefore(refreshAt)) {
+            wheel = new TimingWheel<>(TICK_MILLIS, toMillis(now));
+            loadedUntil = now;
+            refreshAt = now.plus(REFRESH_INTERVAL);
+            due = true;
+        }
+        if (loadedUntil.isBefore(now.plus(LOAD_WINDOW.dividedBy(2)))) {
+            load(now.plus(LOAD_WINDOW));
+        }
+
+        boolean[] expired = {false};
+        wheel.advance(toMillis(now), dateTime -> expired[0] = true);
+        if (!due && !expired[0]) {
+            return 0;
+        }
+        return eventRepository.beginEnrollment(now);
+    }
+
+    boolean isLeader() {
+        return wheel != null;
+    }
+
+    int scheduled() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (wheel != null) {
+            leaseRepository.release(LEASE_NAME, owner, LocalDateTime.now(clock));
+            wheel = null;
+        }
+    }
+
+    private void load(LocalDateTime to) {
+        List<LocalDateTime> dateTimes = eventRepository.findBeginEnrollmentDateTimes(EventStatus.PUBLISHED,
+                loadedUntil, to, PageRequest.of(0, LOAD_LIMIT));
+        for (LocalDateTime dateTime : dateTimes) {
+            wheel.schedule(dateTime, toMillis(dateTime));
+        }
+        // 다 읽지 못했으면 마지막으로 읽은 시각부터 다음 tick 에 이어서 읽는다
+        loadedUntil = dateTimes.size() == LOAD_LIMIT ? dateTimes.get(dateTimes.size() - 1) : to;
+    }
+
+    private boolean acquireLease(LocalDateTime now) {
+        LocalDateTime expiresAt = now.plus(LEASE_DURATION);
+        if (leaseRepository.renew(LEASE_NAME, owner, now, expiresAt) == 1) {
+            return true;
+        }
+        if (leaseRepository.existsById(LEASE_NAME)) {
+            return false;
+        }
+        try {
+            // 덮어쓰지 않는 INSERT 라 두 노드가 동시에 만들어도 기본 키 때문에 한 쪽만 성공한다
+            leaseRepository.insert(new Lease(LEASE_NAME, owner, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 먼저 만들었다
+            return false;
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
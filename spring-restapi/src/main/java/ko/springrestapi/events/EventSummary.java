@@ -0,0 +1,68 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 조회용 읽기 전용 프로젝션.
+ * manager 는 id 만 있으면 되므로(AccountSerializer 도 id 만 쓴다) Account 와 roles 를 읽지 않고
+ * JPQL 생성자 표현식 한 번으로 채운다. JSON 모양은 {@link Event} 와 같다.
+ */
+@Getter
+@Relation(collectionRelation = "eventList")
+public class EventSummary {
+
+    @JsonIgnore
+    private final Long version;
+
+    private final Integer id;
+    private final String name;
+    private final String description;
+    private final LocalDateTime beginEnrollmentDateTime;
+    private final LocalDateTime closeEnrollmentDateTime;
+    private final LocalDateTime beginEventDateTime;
+    private final LocalDateTime endEventDateTime;
+    private final String location;
+    private final int basePrice;
+    private final int maxPrice;
+    private final int limitOfEnrollment;
+    private final boolean free;
+    private final boolean offline;
+    private final EventStatus eventStatus;
+    private final Manager manager;
+
+    public EventSummary(Integer id, Long version, String name, String description,
+                        LocalDateTime beginEnrollmentDateTime, LocalDateTime closeEnrollmentDateTime,
+                        LocalDateTime beginEventDateTime, LocalDateTime endEventDateTime, String location,
+                        int basePrice, int maxPrice, int limitOfEnrollment, boolean free, boolean offline,
+                        EventStatus eventStatus, Integer managerId) {
+        this.id = id;
+        this.version = version;
+        this.name = name;
+        this.description = description;
+        this.beginEnrollmentDateTime = beginEnrollmentDateTime;
+        this.closeEnrollmentDateTime = closeEnrollmentDateTime;
+        this.beginEventDateTime = beginEventDateTime;
+        this.endEventDateTime = endEventDateTime;
+        this.location = location;
+        this.basePrice = basePrice;
+        this.maxPrice = maxPrice;
+        this.limitOfEnrollment = limitOfEnrollment;
+        this.free = free;
+        this.offline = offline;
+        this.eventStatus = eventStatus;
+        this.manager = managerId == null ? null : new Manager(managerId);
+    }
+
+    @Getter
+    public static class Manager {
+        private final Integer id;
+
+        Manager(Integer id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ko.springrestapi.events;
+
+import org.springframework.hateoas.PagedModel;
+
+/**
+ * GET /api/events 응답. PagedResourcesAssembler 가 만든 PagedModel 을 그대로 옮겨 담기만 한다.
+ * 타입을 따로 둔 건 다른 PagedModel 에 영향 없이 {@link EventSummaryPageSerializer} 를 쓰기 위해서다.
+ */
+public class EventSummaryPage extends PagedModel<EventSummaryResource> {
+
+    private EventSummaryPage(PagedModel<EventSummaryResource> model) {
+        super(model.getContent(), model.getMetadata(), model.getLinks());
+    }
+
+    public static EventSummaryPage of(PagedModel<EventSummaryResource> model) {
+        return new EventSummaryPage(model);
+    }
+}
@@ -0,0 +1,67 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import ko.springrestapi.common.HalLinks;
+import org.springframework.boot.jackson.JsonComponent;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * 이벤트 목록 페이지를 HAL 모듈과 같은 바이트로 쓴다.
+ * _embedded (EventSummary 의 collectionRelation), _links, page 순서이고, 비어 있는 _embedded 와 _links 는 생략한다.
+ */
+@JsonComponent
+public class EventSummaryPageSerializer extends JsonSerializer<EventSummaryPage> {
+
+    private static final SerializedString EMBEDDED = new SerializedString("_embedded");
+    private static final SerializedString EVENTS = new SerializedString(
+            new AnnotationLinkRelationProvider().getCollectionResourceRelFor(EventSummary.class).value());
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString NUMBER = new SerializedString("number");
+
+    @Override
+    public void serialize(EventSummaryPage page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+
+        Collection<EventSummaryResource> content = page.getContent();
+        if (!content.isEmpty()) {
+            gen.writeFieldName(EMBEDDED);
+            gen.writeStartObject();
+            gen.writeFieldName(EVENTS);
+            gen.writeStartArray();
+            for (EventSummaryResource resource : content) {
+                EventSummaryResourceSerializer.write(resource, gen, provider);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+
+        HalLinks.writeLinksField(page.getLinks(), gen);
+
+        PagedModel.PageMetadata metadata = page.getMetadata();
+        if (metadata != null) {
+            gen.writeFieldName(PAGE);
+            gen.writeStartObject();
+            gen.writeFieldName(SIZE);
+            gen.writeNumber(metadata.getSize());
+            gen.writeFieldName(TOTAL_ELEMENTS);
+            gen.writeNumber(metadata.getTotalElements());
+            gen.writeFieldName(TOTAL_PAGES);
+            gen.writeNumber(metadata.getTotalPages());
+            gen.writeFieldName(NUMBER);
+            gen.writeNumber(metadata.getNumber());
+            gen.writeEndObject();
+        }
+
+        gen.writeEndObject();
+    }
+}
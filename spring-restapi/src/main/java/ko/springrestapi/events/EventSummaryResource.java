@@ -0,0 +1,14 @@
+package ko.springrestapi.events;
+
+import ko.springrestapi.common.RequestLinks;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+
+public class EventSummaryResource extends EntityModel<EventSummary> {
+
+    public EventSummaryResource(EventSummary event, Link... links) {
+        super(event, links);
+        add(RequestLinks.linkTo(EventController.class, event.getId(), IanaLinkRelations.SELF));
+    }
+}
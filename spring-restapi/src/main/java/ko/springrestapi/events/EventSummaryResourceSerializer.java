@@ -0,0 +1,28 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import ko.springrestapi.common.HalLinks;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * EventSummaryResource 를 HAL 모듈과 같은 바이트로 쓴다. 목록 페이지에서는 {@link EventSummaryPageSerializer} 가 바로 부른다.
+ */
+@JsonComponent
+public class EventSummaryResourceSerializer extends JsonSerializer<EventSummaryResource> {
+
+    @Override
+    public void serialize(EventSummaryResource resource, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(resource, gen, provider);
+    }
+
+    static void write(EventSummaryResource resource, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        EventJson.writeFields(resource.getContent(), gen, provider);
+        HalLinks.writeLinksField(resource.getLinks(), gen);
+        gen.writeEndObject();
+    }
+}
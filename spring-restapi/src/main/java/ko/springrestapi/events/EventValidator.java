@@ -9,12 +9,27 @@ import java.time.LocalDateTime;
 @Component
 public class EventValidator {
     public void validate(EventDto eventDto, Errors errors) {
+        validatePrices(eventDto, errors);
+        validateDates(eventDto, errors);
+    }
+
+    public void validatePrices(EventDto eventDto, Errors errors) {
         if (eventDto.getMaxPrice() < eventDto.getBasePrice() && eventDto.getMaxPrice() != 0) {
             errors.rejectValue("basePrice","wrongValue","BasePrice is Wrong");
             errors.rejectValue("maxPrice", "wrongValue", "MaxPrice is Wrong");
             errors.reject("wrongPrices", "Values for Prices are wrong");
         }
+    }
+
+    /**
+     * 날짜가 비어 있으면 @NotNull 검증에 맡기고 넘어간다.
+     */
+    public void validateDates(EventDto eventDto, Errors errors) {
         LocalDateTime endEventDateTime = eventDto.getEndEventDateTime();
+        if (endEventDateTime == null || eventDto.getBeginEventDateTime() == null
+                || eventDto.getCloseEnrollmentDateTime() == null || eventDto.getBeginEnrollmentDateTime() == null) {
+            return;
+        }
         if (endEventDateTime.isBefore(eventDto.getBeginEventDateTime()) ||
                 endEventDateTime.isBefore(eventDto.getCloseEnrollmentDateTime()) ||
                 endEventDateTime.isBefore(eventDto.getBeginEnrollmentDateTime()))
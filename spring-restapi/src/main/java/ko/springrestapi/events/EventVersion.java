@@ -0,0 +1,11 @@
+package ko.springrestapi.events;
+
+/**
+ * 엔티티를 만들지 않고 id 와 version 만 읽어 오는 프로젝션. ETag 계산에 쓴다.
+ */
+public interface EventVersion {
+
+    Integer getId();
+
+    Long getVersion();
+}
@@ -0,0 +1,20 @@
+-- Account.roles 를 account_roles 테이블 (@ElementCollection) 에서 account.roles 비트마스크 컬럼으로 옮긴다.
+-- 비트 값은 AccountRole.bit 와 같아야 한다. ADMIN = 1, USER = 2
+-- PostgreSQL 기준. 새 버전을 배포하기 전에 한 번 실행한다.
+begin;
+
+alter table account add column roles integer not null default 0;
+
+update account a
+set roles = coalesce((select sum(case r.roles
+                                     when 'ADMIN' then 1
+                                     when 'USER' then 2
+                                     else 0 end)
+                      from account_roles r
+                      where r.account_id = a.id), 0);
+
+alter table account alter column roles drop default;
+
+drop table account_roles;
+
+commit;
@@ -0,0 +1,41 @@
+package ko.springrestapi.accounts;
+
+import org.junit.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccountRolesConverterTest {
+
+    private final AccountRolesConverter converter = new AccountRolesConverter();
+
+    @Test
+    public void roundTrip() {
+        assertThat(converter.convertToDatabaseColumn(Set.of())).isEqualTo(0);
+        assertThat(converter.convertToDatabaseColumn(Set.of(AccountRole.ADMIN))).isEqualTo(1);
+        assertThat(converter.convertToDatabaseColumn(Set.of(AccountRole.USER))).isEqualTo(2);
+        assertThat(converter.convertToDatabaseColumn(Set.of(AccountRole.ADMIN, AccountRole.USER))).isEqualTo(3);
+
+        assertThat(converter.convertToEntityAttribute(3)).containsExactlyInAnyOrder(AccountRole.ADMIN, AccountRole.USER);
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+        // 모르는 비트는 무시한다
+        assertThat(converter.convertToEntityAttribute(2 | 64)).containsExactly(AccountRole.USER);
+    }
+
+    @Test
+    public void sharedAuthorities() {
+        Account admin = Account.builder().email("a@email.com").password("a")
+                .roles(converter.convertToEntityAttribute(3)).build();
+        Account other = Account.builder().email("b@email.com").password("b")
+                .roles(Set.of(AccountRole.USER, AccountRole.ADMIN)).build();
+
+        AccountAdapter adapter = new AccountAdapter(admin);
+
+        assertThat(adapter.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLEADMIN", "ROLEUSER");
+        assertThat(adapter.getAuthorities()).isSameAs(new AccountAdapter(other).getAuthorities());
+        assertThat(converter.convertToEntityAttribute(3)).isSameAs(converter.convertToEntityAttribute(3));
+    }
+}
@@ -1,6 +1,8 @@
 package ko.springrestapi.accounts;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
@@ -13,6 +15,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +35,9 @@ public class AccountServiceTest {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
 
     @Test
     public void findByUserName() {
@@ -56,4 +62,42 @@ public class AccountServiceTest {
             accountService.loadUserByUsername("random@email.com");
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findByUsername_cached() {
+        String username = "cached@naver.com";
+        this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("ko")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+
+        this.accountService.loadUserByUsername(username);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        UserDetails userDetails = this.accountService.loadUserByUsername(username);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        // 인증 뒤 principal 의 비밀번호가 지워져도 캐시된 계정에는 영향이 없어야 한다
+        ((AccountAdapter) userDetails).eraseCredentials();
+        assertThat(this.passwordEncoder.matches("ko",
+                this.accountService.loadUserByUsername(username).getPassword())).isTrue();
+    }
+
+    @Test
+    public void saveAccount_evictsCachedAccount() {
+        String username = "evict@naver.com";
+        Account account = this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("before")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        this.accountService.loadUserByUsername(username);
+
+        account.setPassword("after");
+        this.accountService.saveAccount(account);
+
+        UserDetails userDetails = this.accountService.loadUserByUsername(username);
+        assertThat(this.passwordEncoder.matches("after", userDetails.getPassword())).isTrue();
+    }
+}
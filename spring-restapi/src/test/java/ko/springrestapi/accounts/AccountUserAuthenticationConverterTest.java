@@ -0,0 +1,34 @@
+package ko.springrestapi.accounts;
+
+import org.junit.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccountUserAuthenticationConverterTest {
+
+    private final AccountUserAuthenticationConverter converter = new AccountUserAuthenticationConverter();
+
+    @Test
+    @Description("토큰의 authorities 에 모르는 역할이 있으면 건너뛰고 아는 역할만 계정에 넣는다")
+    public void extractAuthentication_unknownRole() {
+        //Given
+        Map<String, ?> claims = Map.of(
+                "user_name", "user@email.com",
+                "authorities", List.of("ROLEUSER", "ROLEAUDITOR", "SCOPE_read"),
+                AccountUserAuthenticationConverter.ACCOUNT_ID, 7);
+
+        //When
+        Authentication authentication = converter.extractAuthentication(claims);
+
+        //Then
+        Account account = ((AccountAdapter) authentication.getPrincipal()).getAccount();
+        assertThat(account.getId()).isEqualTo(7);
+        assertThat(account.getEmail()).isEqualTo("user@email.com");
+        assertThat(account.getRoles()).containsExactly(AccountRole.USER);
+    }
+}
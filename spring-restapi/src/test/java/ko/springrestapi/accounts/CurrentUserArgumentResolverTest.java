@@ -0,0 +1,59 @@
+package ko.springrestapi.accounts;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CurrentUserArgumentResolverTest {
+
+    private final CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver();
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void supportsParameter() throws Exception {
+        assertThat(resolver.supportsParameter(parameter("handler", 0))).isTrue();
+        assertThat(resolver.supportsParameter(parameter("handler", 1))).isFalse();
+        assertThat(resolver.supportsParameter(parameter("handler", 2))).isFalse();
+    }
+
+    @Test
+    public void resolveAccount() throws Exception {
+        Account account = Account.builder().id(1).email("user@email.com").password("pass")
+                .roles(Set.of(AccountRole.USER)).build();
+        AccountAdapter principal = new AccountAdapter(account);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "N/A", principal.getAuthorities()));
+
+        assertThat(resolver.resolveArgument(parameter("handler", 0), null, null, null)).isSameAs(account);
+    }
+
+    @Test
+    public void resolveAnonymous() throws Exception {
+        assertThat(resolver.resolveArgument(parameter("handler", 0), null, null, null)).isNull();
+
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key",
+                "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        assertThat(resolver.resolveArgument(parameter("handler", 0), null, null, null)).isNull();
+    }
+
+    private MethodParameter parameter(String method, int index) throws NoSuchMethodException {
+        return new MethodParameter(getClass().getDeclaredMethod(method, Account.class, Account.class, String.class),
+                index);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(@CurrentUser Account currentUser, Account other, @CurrentUser String name) {
+    }
+}
@@ -0,0 +1,86 @@
+package ko.springrestapi.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @After
+    public void tearDown() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    public void encodeAndMatches() {
+        //Given
+        passwordEncoder = new BoundedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(), 2, 4);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        passwordEncoder.bindTo(registry);
+
+        //When
+        String encoded = passwordEncoder.encode("pass");
+
+        //Then
+        assertThat(encoded).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("pass", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("wrong", encoded)).isFalse();
+        assertThat(registry.get("password.hashing").tag("operation", "matches").functionTimer().count())
+                .isEqualTo(2);
+        assertThat(registry.get("password.hashing.wait").functionTimer().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void rejectWhenSaturated() throws Exception {
+        //Given 스레드 1개, 큐 1칸
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordEncoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("b"));
+        while (passwordEncoder.queueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        //When & Then
+        assertThrows(PasswordHashingRejectedException.class, () -> passwordEncoder.encode("c"));
+        assertThat(passwordEncoder.rejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+}
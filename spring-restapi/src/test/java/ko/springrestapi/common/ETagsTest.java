@@ -0,0 +1,31 @@
+package ko.springrestapi.common;
+
+import org.junit.Test;
+import org.springframework.context.annotation.Description;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ETagsTest {
+
+    @Test
+    @Description("If-None-Match 는 약한 비교라 W/ 가 붙어도 같은 ETag 다")
+    public void matches() {
+        assertThat(ETags.matches("W/\"3\"", "\"3\"")).isTrue();
+        assertThat(ETags.matches("\"1\", \"3\"", "\"3\"")).isTrue();
+        assertThat(ETags.matches("*", "\"3\"")).isTrue();
+        assertThat(ETags.matches("\"4\"", "\"3\"")).isFalse();
+        assertThat(ETags.matches(null, "\"3\"")).isFalse();
+    }
+
+    @Test
+    @Description("If-Match 는 강한 비교라 약한 ETag 는 값이 같아도 맞지 않는다")
+    public void strongMatches() {
+        assertThat(ETags.strongMatches("\"3\"", "\"3\"")).isTrue();
+        assertThat(ETags.strongMatches("\"1\", \"3\"", "\"3\"")).isTrue();
+        assertThat(ETags.strongMatches("*", "\"3\"")).isTrue();
+        assertThat(ETags.strongMatches("W/\"3\"", "\"3\"")).isFalse();
+        assertThat(ETags.strongMatches("\"3\"", "W/\"3\"")).isFalse();
+        assertThat(ETags.strongMatches("\"4\"", "\"3\"")).isFalse();
+        assertThat(ETags.strongMatches("", "\"3\"")).isFalse();
+    }
+}
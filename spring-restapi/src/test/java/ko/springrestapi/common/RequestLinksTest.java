@@ -0,0 +1,52 @@
+package ko.springrestapi.common;
+
+import ko.springrestapi.events.EventController;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+public class RequestLinksTest {
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void sameAsLinkBuilder() {
+        bind(request("api.example.com"));
+
+        Link link = RequestLinks.linkTo(EventController.class, 10, IanaLinkRelations.SELF);
+
+        assertThat(link).isEqualTo(linkTo(EventController.class).slash(10).withSelfRel());
+        assertThat(link.getHref()).isEqualTo("http://api.example.com/api/events/10");
+    }
+
+    @Test
+    public void cachedPerRequest() {
+        bind(request("first.example.com"));
+        String first = RequestLinks.baseUri(EventController.class);
+        assertThat(RequestLinks.baseUri(EventController.class)).isSameAs(first);
+
+        // 다른 요청은 자기 호스트로 다시 계산한다
+        bind(request("second.example.com"));
+        assertThat(RequestLinks.baseUri(EventController.class)).isEqualTo("http://second.example.com/api/events");
+    }
+
+    private MockHttpServletRequest request(String serverName) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName(serverName);
+        return request;
+    }
+
+    private void bind(MockHttpServletRequest request) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
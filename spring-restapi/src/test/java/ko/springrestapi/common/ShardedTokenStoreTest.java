@@ -0,0 +1,141 @@
+package ko.springrestapi.common;
+
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardedTokenStoreTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private final ShardedTokenStore tokenStore = new ShardedTokenStore(4, 100, clock);
+
+    @Test
+    public void storeAndRead() {
+        //Given
+        OAuth2Authentication authentication = authentication("user@email.com");
+        DefaultOAuth2AccessToken accessToken = accessToken("access", "refresh", 600);
+
+        //When
+        tokenStore.storeAccessToken(accessToken, authentication);
+        tokenStore.storeRefreshToken(accessToken.getRefreshToken(), authentication);
+
+        //Then
+        assertThat(tokenStore.readAccessToken("access")).isSameAs(accessToken);
+        assertThat(tokenStore.readAuthentication("access")).isSameAs(authentication);
+        assertThat(tokenStore.getAccessToken(authentication("user@email.com"))).isSameAs(accessToken);
+        assertThat(tokenStore.readRefreshToken("refresh")).isSameAs(accessToken.getRefreshToken());
+        assertThat(tokenStore.findTokensByClientIdAndUserName("myApp", "user@email.com")).containsExactly(accessToken);
+        assertThat(tokenStore.findTokensByClientId("myApp")).containsExactly(accessToken);
+        assertThat(tokenStore.findTokensByClientId("other")).isEmpty();
+    }
+
+    @Test
+    public void removeAccessTokenUsingRefreshToken() {
+        //Given
+        OAuth2Authentication authentication = authentication("user@email.com");
+        DefaultOAuth2AccessToken accessToken = accessToken("access", "refresh", 600);
+        tokenStore.storeAccessToken(accessToken, authentication);
+        tokenStore.storeRefreshToken(accessToken.getRefreshToken(), authentication);
+
+        //When
+        tokenStore.removeAccessTokenUsingRefreshToken(accessToken.getRefreshToken());
+
+        //Then
+        assertThat(tokenStore.readAccessToken("access")).isNull();
+        assertThat(tokenStore.getAccessToken(authentication)).isNull();
+        assertThat(tokenStore.readRefreshToken("refresh")).isNotNull();
+    }
+
+    @Test
+    public void expiresWithoutScan() {
+        //Given
+        ShardedTokenStore tokenStore = new ShardedTokenStore(1, 100, clock);
+        OAuth2Authentication authentication = authentication("user@email.com");
+        tokenStore.storeAccessToken(accessToken("short", null, 60), authentication("a@email.com"));
+        tokenStore.storeAccessToken(accessToken("long", null, 600), authentication);
+
+        //When
+        clock.plusSeconds(61);
+
+        //Then
+        // 읽기는 락을 잡지 않으므로 만료는 다음 쓰기 (여기서는 인증 키 인덱스 조회) 때 반영된다
+        assertThat(tokenStore.getAccessToken(authentication("a@email.com"))).isNull();
+        assertThat(tokenStore.readAccessToken("short")).isNull();
+        assertThat(tokenStore.readAccessToken("long")).isNotNull();
+
+        clock.plusSeconds(600);
+        tokenStore.getAccessToken(authentication);
+        assertThat(tokenStore.accessTokenCount()).isZero();
+        assertThat(tokenStore.expiredAccessTokenCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void boundedSize() {
+        //When
+        for (int i = 0; i < 1000; i++) {
+            tokenStore.storeAccessToken(accessToken("access" + i, null, 600), authentication("user" + i));
+        }
+
+        //Then
+        assertThat(tokenStore.accessTokenCount()).isLessThanOrEqualTo(100);
+        assertThat(tokenStore.evictedAccessTokenCount()).isEqualTo(1000 - tokenStore.accessTokenCount());
+        assertThat(tokenStore.readAccessToken("access999")).isNotNull();
+        assertThat(tokenStore.getAccessToken(authentication("user999")).getValue()).isEqualTo("access999");
+    }
+
+    private DefaultOAuth2AccessToken accessToken(String value, String refreshToken, int validitySeconds) {
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken(value);
+        accessToken.setExpiration(new Date(clock.millis() + validitySeconds * 1000L));
+        if (refreshToken != null) {
+            accessToken.setRefreshToken(new DefaultExpiringOAuth2RefreshToken(refreshToken,
+                    new Date(clock.millis() + validitySeconds * 6000L)));
+        }
+        return accessToken;
+    }
+
+    private OAuth2Authentication authentication(String username) {
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", null, true, Set.of("read"),
+                null, null, null, null);
+        return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(username, "N/A",
+                AuthorityUtils.createAuthorityList("ROLEUSER")));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2020-11-01T00:00:00Z");
+
+        void plusSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ko.springrestapi.common;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimingWheelTest {
+
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    public void expiresAtDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("a", 5_000);
+        wheel.schedule("b", 5_001);
+
+        wheel.advance(4_999, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(5_000, expired::add);
+        assertThat(expired).containsExactly("a");
+
+        // 올림하므로 5.001 초짜리는 6 초에 만료된다
+        wheel.advance(6_000, expired::add);
+        assertThat(expired).containsExactly("a", "b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void cascadesFromUpperLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        long tenMinutes = 10 * 60 * 1000;
+        long oneHour = 60 * 60 * 1000;
+        long threeDays = 3 * 24 * 60 * 60 * 1000L;
+        wheel.schedule("ten-minutes", tenMinutes);
+        wheel.schedule("one-hour", oneHour);
+        wheel.schedule("three-days", threeDays);
+
+        wheel.advance(tenMinutes - 1000, expired::add);
+        assertThat(expired).isEmpty();
+        wheel.advance(tenMinutes, expired::add);
+        assertThat(expired).containsExactly("ten-minutes");
+
+        wheel.advance(oneHour - 1000, expired::add);
+        assertThat(expired).containsExactly("ten-minutes");
+        wheel.advance(oneHour, expired::add);
+        assertThat(expired).containsExactly("ten-minutes", "one-hour");
+
+        wheel.advance(threeDays - 1000, expired::add);
+        assertThat(expired).hasSize(2);
+        wheel.advance(threeDays, expired::add);
+        assertThat(expired).containsExactly("ten-minutes", "one-hour", "three-days");
+    }
+
+    @Test
+    public void beyondHorizon() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        long deadline = (TimingWheel.MAX_DELAY_TICKS + 100) * 1000;
+        wheel.schedule("far", deadline);
+
+        wheel.advance(deadline - 1000, expired::add);
+        assertThat(expired).isEmpty();
+        wheel.advance(deadline, expired::add);
+        assertThat(expired).containsExactly("far");
+    }
+
+    @Test
+    public void cancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        TimingWheel.Node<String> node = wheel.schedule("a", 100_000);
+        wheel.schedule("b", 100_000);
+
+        wheel.cancel(node);
+        wheel.cancel(node);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        wheel.advance(100_000, expired::add);
+        assertThat(expired).containsExactly("b");
+    }
+}
@@ -0,0 +1,29 @@
+package ko.springrestapi.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Description;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class AppConfigTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @Description("비밀번호 해시 풀의 큐 길이와 해시 시간 메트릭이 등록된다")
+    public void passwordHashingMeters() {
+        assertThat(this.meterRegistry.find("password.hashing.queue.size").gauge()).isNotNull();
+        assertThat(this.meterRegistry.find("password.hashing.queue.remaining").gauge()).isNotNull();
+        assertThat(this.meterRegistry.find("password.hashing").functionTimers()).isNotEmpty();
+    }
+}
@@ -0,0 +1,49 @@
+package ko.springrestapi.configs;
+
+import ko.springrestapi.events.Event;
+import ko.springrestapi.events.EventRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Description;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "my-app.event-cache-ttl=0")
+@ActiveProfiles("test")
+public class CacheConfigTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Description("my-app.event-cache-ttl=0 이면 이벤트를 2차 캐시에서 꺼내지 않고 매번 DB 에서 읽는다")
+    public void eventCacheTtl_zero() {
+        //Given
+        Event event = this.eventRepository.save(Event.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .build());
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //When
+        this.eventRepository.findById(event.getId());
+        this.eventRepository.findById(event.getId());
+
+        //Then
+        assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,101 @@
+package ko.springrestapi.configs;
+
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.AccountAdapter;
+import ko.springrestapi.accounts.AccountRole;
+import ko.springrestapi.common.AppProperties;
+import ko.springrestapi.common.CachingJwtTokenStore;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JwtTokenConfigTest {
+
+    private final JwtTokenConfig jwtTokenConfig = new JwtTokenConfig();
+
+    private CachingJwtTokenStore tokenStore;
+
+    private DefaultTokenServices tokenServices;
+
+    @Before
+    public void setUp() throws Exception {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setTokenSigningKey("0123456789abcdef0123456789abcdef");
+        JwtAccessTokenConverter accessTokenConverter = jwtTokenConfig.accessTokenConverter(appProperties);
+        accessTokenConverter.afterPropertiesSet();
+        tokenStore = jwtTokenConfig.tokenStore(accessTokenConverter);
+
+        tokenServices = new DefaultTokenServices();
+        tokenServices.setTokenStore(tokenStore);
+        tokenServices.setTokenEnhancer(accessTokenConverter);
+        tokenServices.setSupportRefreshToken(true);
+    }
+
+    @Test
+    public void loadAuthenticationFromClaims() {
+        //Given
+        Account account = Account.builder()
+                .id(7)
+                .email("user@email.com")
+                .password("user")
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+        OAuth2AccessToken accessToken = tokenServices.createAccessToken(authentication(account));
+
+        //When
+        OAuth2Authentication authentication = tokenServices.loadAuthentication(accessToken.getValue());
+
+        //Then
+        AccountAdapter principal = (AccountAdapter) authentication.getPrincipal();
+        assertThat(principal.getAccount().getId()).isEqualTo(7);
+        assertThat(principal.getAccount()).isEqualTo(account);
+        assertThat(principal.getUsername()).isEqualTo("user@email.com");
+        assertThat(principal.getAccount().getRoles()).containsExactlyInAnyOrder(AccountRole.ADMIN, AccountRole.USER);
+        assertThat(authentication.getOAuth2Request().getClientId()).isEqualTo("myApp");
+
+        // 두 번째부터는 서명을 다시 확인하지 않고 캐시에서 꺼낸다
+        assertThat(tokenStore.readAccessToken(accessToken.getValue()))
+                .isSameAs(tokenStore.readAccessToken(accessToken.getValue()));
+        assertThat(tokenStore.readAuthentication(accessToken.getValue()))
+                .isSameAs(tokenServices.loadAuthentication(accessToken.getValue()));
+    }
+
+    @Test
+    public void rejectTamperedToken() {
+        //Given
+        Account account = Account.builder().id(7).email("user@email.com").password("user")
+                .roles(Set.of(AccountRole.USER)).build();
+        String value = tokenServices.createAccessToken(authentication(account)).getValue();
+        String tampered = value.substring(0, value.length() - 2) + (value.endsWith("A") ? "BB" : "AA");
+
+        //When & Then
+        assertThatThrownBy(() -> tokenServices.loadAuthentication(tampered))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    public void requireSigningKey() {
+        assertThatThrownBy(() -> jwtTokenConfig.accessTokenConverter(new AppProperties()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private OAuth2Authentication authentication(Account account) {
+        AccountAdapter accountAdapter = new AccountAdapter(account);
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", accountAdapter.getAuthorities(), true,
+                Set.of("read", "write"), null, null, null, null);
+        return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(accountAdapter, null,
+                accountAdapter.getAuthorities()));
+    }
+}
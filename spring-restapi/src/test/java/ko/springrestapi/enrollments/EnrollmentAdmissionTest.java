@@ -0,0 +1,75 @@
+package ko.springrestapi.enrollments;
+
+import org.junit.Test;
+import org.springframework.context.annotation.Description;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EnrollmentAdmissionTest {
+
+    private final EnrollmentAdmission enrollmentAdmission = new EnrollmentAdmission();
+
+    @Test
+    @Description("남은 자리만큼만 잡고, 쓰지 못한 자리는 돌려받는다")
+    public void tryAcquire() {
+        //Given
+        AtomicInteger loads = new AtomicInteger();
+
+        //When
+        EnrollmentAdmission.Reservation first = enrollmentAdmission.tryAcquire(1, () -> loads.incrementAndGet() * 2).get();
+        EnrollmentAdmission.Reservation second = enrollmentAdmission.tryAcquire(1, () -> loads.incrementAndGet() * 2).get();
+        first.confirm();
+        second.release();
+
+        //Then DB 는 처음 한 번만 읽는다
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(enrollmentAdmission.remaining(1)).isEqualTo(1);
+        assertThat(enrollmentAdmission.tryAcquire(1, () -> 0)).isPresent();
+        assertThat(enrollmentAdmission.tryAcquire(1, () -> 0)).isEmpty();
+    }
+
+    @Test
+    @Description("자리가 없을 때 마지막으로 맞춘 지 오래됐으면 DB 기준으로 다시 맞춘다")
+    public void tryAcquire_resync() throws Exception {
+        //Given 자리 하나를 잡은 채로
+        assertThat(enrollmentAdmission.tryAcquire(1, () -> 1)).isPresent();
+        assertThat(enrollmentAdmission.tryAcquire(1, () -> 5)).isEmpty();
+
+        //When 다른 노드에서 취소가 생겨 DB 에는 3 자리가 남았다
+        Thread.sleep(EnrollmentAdmission.RESYNC_INTERVAL_NANOS / 1_000_000 + 10);
+
+        //Then 아직 반영 안 된 자리 하나를 빼고 맞춘다
+        assertThat(enrollmentAdmission.tryAcquire(1, () -> 3)).isPresent();
+        assertThat(enrollmentAdmission.remaining(1)).isEqualTo(1);
+    }
+
+    @Test
+    @Description("정원이 바뀌면 다음 신청 때 다시 읽는다")
+    public void invalidate() {
+        enrollmentAdmission.tryAcquire(1, () -> 1).get().confirm();
+
+        enrollmentAdmission.invalidate(1);
+
+        assertThat(enrollmentAdmission.tryAcquire(1, () -> 10)).isPresent();
+        assertThat(enrollmentAdmission.remaining(1)).isEqualTo(9);
+    }
+
+    @Test
+    @Description("정원이 바뀌기 전에 잡은 자리를 돌려줘도 새로 읽은 남은 자리는 늘지 않는다")
+    public void invalidate_release() throws Exception {
+        //Given 자리 하나를 잡은 채로 정원이 바뀌어 DB 에서 다시 읽었다
+        EnrollmentAdmission.Reservation reservation = enrollmentAdmission.tryAcquire(1, () -> 1).get();
+        enrollmentAdmission.invalidate(1);
+        assertThat(enrollmentAdmission.tryAcquire(1, () -> 1)).isPresent();
+
+        //When
+        reservation.release();
+
+        //Then 새 값은 그대로이고, 다시 맞춰도 반영 안 된 자리 하나만 뺀다
+        assertThat(enrollmentAdmission.remaining(1)).isZero();
+        Thread.sleep(EnrollmentAdmission.RESYNC_INTERVAL_NANOS / 1_000_000 + 10);
+        assertThat(enrollmentAdmission.tryAcquire(1, () -> 1)).isEmpty();
+    }
+}
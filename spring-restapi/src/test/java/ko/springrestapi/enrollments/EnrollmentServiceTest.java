@@ -0,0 +1,188 @@
+package ko.springrestapi.enrollments;
+
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.AccountRepository;
+import ko.springrestapi.accounts.AccountRole;
+import ko.springrestapi.events.Event;
+import ko.springrestapi.events.EventRepository;
+import ko.springrestapi.events.EventStatus;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Description;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EnrollmentServiceTest {
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EventCapacityRepository eventCapacityRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @After
+    public void tearDown() {
+        this.enrollmentRepository.deleteAllInBatch();
+        this.eventCapacityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @Description("정원보다 훨씬 많은 신청이 동시에 들어와도 정원만큼만 받는다")
+    public void enroll_concurrent() throws Exception {
+        //Given 정원 50, 신청 400
+        int capacity = 50;
+        Event event = generateEvent(capacity);
+        List<Account> accounts = generateAccounts(400);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //When
+        List<Future<EnrollmentException.Reason>> results = new ArrayList<>();
+        for (Account account : accounts) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    enrollmentService.enroll(event, account);
+                    return null;
+                } catch (EnrollmentException e) {
+                    return e.getReason();
+                }
+            }));
+        }
+        start.countDown();
+        List<EnrollmentException.Reason> reasons = new ArrayList<>();
+        for (Future<EnrollmentException.Reason> result : results) {
+            reasons.add(result.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        //Then
+        assertThat(reasons.stream().filter(r -> r == null).count()).isEqualTo(capacity);
+        assertThat(reasons.stream().filter(r -> r != null).collect(Collectors.toSet()))
+                .containsOnly(EnrollmentException.Reason.FULL);
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(capacity);
+        assertThat(this.eventCapacityRepository.findById(event.getId()).get().getEnrolled()).isEqualTo(capacity);
+    }
+
+    @Test
+    @Description("같은 계정은 한 번만 신청하고, 취소하면 자리가 다시 난다")
+    public void enroll_duplicateAndCancel() {
+        //Given
+        Event event = generateEvent(2);
+        List<Account> accounts = generateAccounts(3);
+        enrollmentService.enroll(event, accounts.get(0));
+
+        //When & Then 중복 신청은 유니크 키가 막고 잡았던 자리를 돌려준다
+        assertThat(assertThrows(EnrollmentException.class, () -> enrollmentService.enroll(event, accounts.get(0)))
+                .getReason()).isEqualTo(EnrollmentException.Reason.ALREADY_ENROLLED);
+        enrollmentService.enroll(event, accounts.get(1));
+        assertThat(assertThrows(EnrollmentException.class, () -> enrollmentService.enroll(event, accounts.get(2)))
+                .getReason()).isEqualTo(EnrollmentException.Reason.FULL);
+        // 자리가 없으면 이미 신청한 계정이어도 DB 에 가지 않고 FULL 이다
+        assertThat(assertThrows(EnrollmentException.class, () -> enrollmentService.enroll(event, accounts.get(0)))
+                .getReason()).isEqualTo(EnrollmentException.Reason.FULL);
+
+        assertThat(enrollmentService.cancel(event, accounts.get(0))).isTrue();
+        assertThat(enrollmentService.cancel(event, accounts.get(0))).isFalse();
+        Enrollment enrollment = enrollmentService.enroll(event, accounts.get(2));
+        assertThat(enrollment.getId()).isNotNull();
+        assertThat(this.eventCapacityRepository.findById(event.getId()).get().getEnrolled()).isEqualTo(2);
+    }
+
+    @Test
+    @Description("정원을 늘리면 바로 더 받는다")
+    public void capacityChanged() {
+        //Given
+        Event event = generateEvent(1);
+        List<Account> accounts = generateAccounts(2);
+        enrollmentService.enroll(event, accounts.get(0));
+
+        //When
+        event.setLimitOfEnrollment(2);
+        this.eventRepository.save(event);
+        enrollmentService.capacityChanged(event);
+
+        //Then
+        enrollmentService.enroll(event, accounts.get(1));
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(2);
+    }
+
+    @Test
+    @Description("정원 행을 늦게 만들려는 쪽은 먼저 만들어진 행의 신청 수를 덮어쓰지 않고 실패한다")
+    public void insertCapacity() {
+        //Given 다른 신청이 먼저 행을 만들고 자리 셋을 잡았다
+        Event event = generateEvent(10);
+        this.eventCapacityRepository.insert(new EventCapacity(event.getId(), 10, 3));
+
+        //When & Then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> this.eventCapacityRepository.insert(new EventCapacity(event.getId(), 10, 0)));
+        assertThat(this.eventCapacityRepository.findById(event.getId()).get().getEnrolled()).isEqualTo(3);
+    }
+
+    @Test
+    @Description("신청을 받는 상태가 아닌 이벤트에는 신청할 수 없다")
+    public void enroll_notOpen() {
+        Event event = generateEvent(10);
+        event.setEventStatus(EventStatus.PUBLISHED);
+        Account account = generateAccounts(1).get(0);
+
+        assertThat(assertThrows(EnrollmentException.class, () -> enrollmentService.enroll(event, account))
+                .getReason()).isEqualTo(EnrollmentException.Reason.NOT_OPEN);
+    }
+
+    private Event generateEvent(int limitOfEnrollment) {
+        return this.eventRepository.save(Event.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .endEventDateTime(LocalDateTime.of(2020, 10, 31, 17, 58))
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(EventStatus.BEGAN_ENROLLMENT)
+                .build());
+    }
+
+    private List<Account> generateAccounts(int count) {
+        long seed = System.nanoTime();
+        return this.accountRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> Account.builder()
+                        .email("enroll-" + seed + "-" + i + "@email.com")
+                        .password("pass")
+                        .roles(Set.of(AccountRole.USER))
+                        .build())
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,147 @@
+package ko.springrestapi.events;
+
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.AccountRepository;
+import ko.springrestapi.accounts.AccountRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Description;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EventConditionalUpdateTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Account manager;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.manager = this.accountRepository.save(Account.builder()
+                .email("conditional-" + System.nanoTime() + "@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+    }
+
+    @Test
+    @Description("버전이 맞으면 UPDATE 한 번으로 고치고 버전을 올린다")
+    public void updateIfVersionMatches() {
+        //Given
+        Event event = generateEvent("Spring");
+        Event values = values("Updated Event", 0, 0);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //When
+        int updated = this.eventRepository.updateIfVersionMatches(event.getId(), event.getVersion(), manager.getId(), values);
+
+        //Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Event saved = this.eventRepository.findById(event.getId()).get();
+        assertThat(saved.getName()).isEqualTo("Updated Event");
+        assertThat(saved.getLocation()).isNull();
+        assertThat(saved.isFree()).isTrue();
+        assertThat(saved.isOffline()).isFalse();
+        assertThat(saved.getVersion()).isEqualTo(event.getVersion() + 1);
+        assertThat(saved.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(saved.getManager()).isEqualTo(manager);
+    }
+
+    @Test
+    @Description("버전이나 관리자가 다르면 아무것도 고치지 않는다")
+    public void updateIfVersionMatches_mismatch() {
+        //Given
+        Event event = generateEvent("Spring");
+
+        //When & Then 먼저 온 수정만 반영된다
+        assertThat(this.eventRepository.updateIfVersionMatches(event.getId(), event.getVersion(), manager.getId(),
+                values("first", 100, 200))).isEqualTo(1);
+        assertThat(this.eventRepository.updateIfVersionMatches(event.getId(), event.getVersion(), manager.getId(),
+                values("second", 100, 200))).isZero();
+        assertThat(this.eventRepository.updateIfVersionMatches(event.getId(), event.getVersion() + 1,
+                manager.getId() + 1, values("other manager", 100, 200))).isZero();
+        assertThat(this.eventRepository.updateIfVersionMatches(-1, 0, manager.getId(),
+                values("missing", 100, 200))).isZero();
+
+        assertThat(this.eventRepository.findById(event.getId()).get().getName()).isEqualTo("first");
+    }
+
+    @Test
+    @Description("고친 이벤트만 2차 캐시에서 빠지고 다른 이벤트는 남는다")
+    public void updateIfVersionMatches_evictsOnlyUpdatedEvent() {
+        //Given
+        Event event = generateEvent("Spring");
+        Event other = generateEvent("Other");
+        this.entityManagerFactory.getCache().evictAll();
+        this.eventRepository.findById(event.getId());
+        this.eventRepository.findById(other.getId());
+        assertThat(this.entityManagerFactory.getCache().contains(Event.class, event.getId())).isTrue();
+
+        //When
+        this.eventRepository.updateIfVersionMatches(event.getId(), event.getVersion(), manager.getId(),
+                values("Updated Event", 100, 200));
+
+        //Then
+        assertThat(this.entityManagerFactory.getCache().contains(Event.class, event.getId())).isFalse();
+        assertThat(this.entityManagerFactory.getCache().contains(Event.class, other.getId())).isTrue();
+        assertThat(this.eventRepository.findById(event.getId()).get().getName()).isEqualTo("Updated Event");
+    }
+
+    private Event values(String name, int basePrice, int maxPrice) {
+        Event values = Event.builder()
+                .name(name)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 11, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 30, 17, 58))
+                .endEventDateTime(LocalDateTime.of(2020, 12, 1, 17, 58))
+                .basePrice(basePrice)
+                .maxPrice(maxPrice)
+                .limitOfEnrollment(10)
+                .build();
+        values.update();
+        return values;
+    }
+
+    private Event generateEvent(String name) {
+        return this.eventRepository.save(Event.builder()
+                .name(name)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .endEventDateTime(LocalDateTime.of(2020, 10, 31, 17, 58))
+                .location("삼육대학교")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .manager(manager)
+                .build());
+    }
+}
@@ -1,11 +1,15 @@
 package ko.springrestapi.events;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jayway.jsonpath.JsonPath;
 import ko.springrestapi.accounts.Account;
 import ko.springrestapi.accounts.AccountRepository;
 import ko.springrestapi.accounts.AccountRole;
 import ko.springrestapi.accounts.AccountService;
 import ko.springrestapi.common.AppProperties;
 import ko.springrestapi.common.BaseControllerTest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,13 +20,22 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
@@ -48,6 +61,15 @@ public class EventControllerTest extends BaseControllerTest {
     @Autowired
     AccountRepository accountRepository;
 
+    @Autowired
+    EventCountEstimator eventCountEstimator;
+
+    @Autowired
+    EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     @Before
     public void setUp() {
         this.eventRepository.deleteAll();
@@ -150,8 +172,8 @@ public class EventControllerTest extends BaseControllerTest {
 
         ResultActions perform = this.mockMvc.perform(MockMvcRequestBuilders.post("/oauth/token")
                 .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
-                .param("username", appProperties.getAdminUsername())
-                .param("password", appProperties.getAdminPassword())
+                .param("username", appProperties.getUserUsername())
+                .param("password", appProperties.getUserPassword())
                 .param("grant_type", "password")
         );
         var responseBody = perform.andReturn().getResponse().getContentAsString();
@@ -279,6 +301,463 @@ public class EventControllerTest extends BaseControllerTest {
 
     }
 
+    @Test
+    @Description("30개의 이벤트를 커서로 10개씩 끝까지 조회하고 이전 페이지로 되돌아가기")
+    public void queryEventsByCursor() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generatedEvent);
+
+        //When
+        List<Integer> ids = new ArrayList<>();
+        List<Integer> secondPageIds = null;
+        String cursor = "";
+        String prevCursor = null;
+        for (int page = 0; cursor != null; page++) {
+            String body = this.mockMvc.perform(get("/api/events")
+                    .param("cursor", cursor)
+                    .param("size", "10")
+                    .param("sort", "name,DESC"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                    .andExpect(jsonPath("_links.self").exists())
+                    .andExpect(jsonPath("_links.profile").exists())
+                    .andReturn().getResponse().getContentAsString();
+
+            List<Integer> pageIds = JsonPath.read(body, "$._embedded.eventList[*].id");
+            ids.addAll(pageIds);
+            if (page == 1) {
+                secondPageIds = pageIds;
+            }
+            if (page == 2) {
+                prevCursor = cursorOf(body, "prev");
+            }
+            cursor = cursorOf(body, "next");
+        }
+
+        //Then
+        assertThat(ids).hasSize(30).doesNotHaveDuplicates();
+        this.mockMvc.perform(get("/api/events")
+                .param("cursor", prevCursor)
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.eventList[*].id").value(secondPageIds))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists());
+    }
+
+    @Test
+    @Description("커서 조회에서 지원하지 않는 정렬 키를 쓰면 400 응답")
+    public void queryEventsByCursor_Bad_Sort() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                .param("cursor", "")
+                .param("sort", "description,ASC"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Description("커서 조회에 검색 조건을 같이 주면 400 응답")
+    public void queryEventsByCursor_Bad_Filter() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                .param("cursor", "")
+                .param("eventStatus", EventStatus.PUBLISHED.name()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Description("날짜 정렬 키 값을 고친 커서로 조회하면 400 응답")
+    public void queryEventsByCursor_Bad_Cursor() throws Exception {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("BEGIN_ENROLLMENT_DATE_TIME:ASC:f:1:not-a-date".getBytes(StandardCharsets.UTF_8));
+
+        this.mockMvc.perform(get("/api/events")
+                .param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Description("상태와 기간 조건으로 이벤트 목록 검색하기")
+    public void queryEventsWithFilter() throws Exception {
+        //Given
+        IntStream.range(0, 10).forEach(this::generatedEvent);
+        Event published = generatedEvent(10);
+        published.setEventStatus(EventStatus.PUBLISHED);
+        this.eventRepository.save(published);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events")
+                .param("eventStatus", "PUBLISHED")
+                .param("offline", "true")
+                .param("beginEventFrom", "2020-10-30T00:00:00")
+                .param("beginEventTo", "2020-10-31T00:00:00")
+                .param("sort", "beginEventDateTime,DESC"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(published.getId()))
+                .andExpect(jsonPath("_links.profile").exists());
+    }
+
+    @Test
+    @Description("인덱스가 없는 속성으로 정렬하면 400 응답")
+    public void queryEvents_Bad_Sort() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                .param("free", "true")
+                .param("sort", "location,ASC"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Description("이름과 설명으로 이벤트를 검색해서 관련도 순으로 조회하기")
+    public void searchEvents() throws Exception {
+        //Given
+        IntStream.range(0, 5).forEach(this::generatedEvent);
+        Event kotlin = generatedEvent(5);
+        kotlin.setName("Kotlin");
+        kotlin.setDescription("Kotlin 코루틴 입문");
+        this.eventRepository.save(kotlin);
+        this.eventSearchIndex.rebuild();
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/search")
+                .param("q", "코루틴 spring")
+                .param("size", "3"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(6))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(3))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(kotlin.getId()))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists());
+    }
+
+    @Test
+    @Description("검색어가 없거나 정렬을 주면 400 응답")
+    public void searchEvents_Bad_Request() throws Exception {
+        this.mockMvc.perform(get("/api/events/search")
+                .param("q", " "))
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(get("/api/events/search")
+                .param("q", "spring")
+                .param("sort", "name,ASC"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Description("count 쿼리 없이 다음 페이지가 있는지만 알려주는 조회")
+    public void queryEventsWithoutCount() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generatedEvent);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events")
+                .param("total", "none")
+                .param("page", "1")
+                .param("size", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(jsonPath("_links.profile").exists());
+    }
+
+    @Test
+    @Description("메모리에 들고 있는 근사 개수로 page 블록을 채우는 조회")
+    public void queryEventsWithEstimatedTotal() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generatedEvent);
+        this.eventCountEstimator.resync();
+        this.eventCountEstimator.added(1);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events")
+                .param("total", "estimate")
+                .param("page", "1")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(31))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists());
+
+        // 근사 개수를 읽는 데는 SQL 이 나가지 않는다
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(this.eventCountEstimator.estimate()).isEqualTo(31);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @Description("한 번 읽은 이벤트와 매니저는 2차 캐시에서 꺼내고, 수정하면 그 항목만 다시 읽는다")
+    public void getEvent_SecondLevelCache() throws Exception {
+        //Given
+        Account manager = this.accountRepository.save(Account.builder()
+                .email("manager@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        Event event = this.generatedEvent(300);
+        event.setManager(manager);
+        event = this.eventRepository.save(event);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.entityManagerFactory.getCache().evictAll();
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+
+        //When
+        statistics.clear();
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("manager.id").value(manager.getId()));
+
+        //Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+
+        event.setName("Updated Event");
+        this.eventRepository.save(event);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("name").value("Updated Event"));
+    }
+
+    @Test
+    @Description("같은 ETag 로 다시 조회하면 304, 이벤트가 바뀌면 새 ETag 와 함께 200")
+    public void getEvent_NotModified() throws Exception {
+        //Given
+        Event event = this.generatedEvent(400);
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        event.setName("Updated Event");
+        this.eventRepository.save(event);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("name").value("Updated Event"));
+    }
+
+    @Test
+    @Description("목록도 페이지 내용이 그대로면 304, 이벤트가 추가되면 200")
+    public void queryEvents_NotModified() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generatedEvent);
+        String eTag = this.mockMvc.perform(get("/api/events")
+                .param("page", "1")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events")
+                .param("page", "1")
+                .param("size", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        this.generatedEvent(30);
+        this.mockMvc.perform(get("/api/events")
+                .param("page", "1")
+                .param("size", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(31));
+    }
+
+    @Test
+    @Description("매니저가 여럿이어도 목록 한 페이지는 (id, version) 페이지, count, 프로젝션 세 문장으로 끝난다")
+    public void queryEvents_StatementCount() throws Exception {
+        //Given
+        List<Account> managers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            managers.add(this.accountRepository.save(Account.builder()
+                    .email("manager" + i + "@email.com")
+                    .password("pass")
+                    .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                    .build()));
+        }
+        IntStream.range(0, 30).forEach(i -> {
+            Event event = this.generatedEvent(i);
+            event.setManager(managers.get(i % managers.size()));
+            this.eventRepository.save(event);
+        });
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        //When
+        this.mockMvc.perform(get("/api/events")
+                .param("page", "1")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].manager.id").exists());
+
+        //Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    @Description("120개의 이벤트를 한 번에 생성하면 시퀀스와 INSERT 를 묶어서 보낸다")
+    public void createEvents() throws Exception {
+        //Given
+        List<EventDto> eventDtos = new ArrayList<>();
+        IntStream.range(0, 120).forEach(i -> eventDtos.add(generatedEventDto(i)));
+        String accessToken = getAccessToken();
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer" + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDtos)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(120))
+                .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].free").value(false))
+                .andExpect(jsonPath("_embedded.eventList[0].manager.id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.query-events").exists());
+
+        assertThat(this.eventRepository.count()).isEqualTo(120);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // 시퀀스 3번 + 50개씩 묶은 INSERT 3번 (토큰 조회 문장은 statistics.clear() 전에 끝났다)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @Description("일괄 생성에서 잘못된 항목이 있으면 아무것도 저장하지 않고 항목별 에러를 돌려준다")
+    public void createEvents_Bad_Request() throws Exception {
+        //Given
+        EventDto wrongPrices = generatedEventDto(1);
+        wrongPrices.setBasePrice(10000);
+        EventDto emptyName = generatedEventDto(2);
+        emptyName.setName(null);
+        List<EventDto> eventDtos = List.of(generatedEventDto(0), wrongPrices, emptyName);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer" + getAccessToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDtos)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("length()").value(2))
+                .andExpect(jsonPath("[0].index").value(1))
+                .andExpect(jsonPath("[0].errors[0].field").value("basePrice"))
+                .andExpect(jsonPath("[0].errors[0].code").value("wrongValue"))
+                .andExpect(jsonPath("[1].index").value(2))
+                .andExpect(jsonPath("[1].errors[0].field").value("name"))
+                .andExpect(jsonPath("[1].errors[0].defaultMessage").exists());
+
+        assertThat(this.eventRepository.count()).isZero();
+    }
+
+    @Test
+    @Description("일괄 생성에서 null 항목은 그 index 의 에러가 되고 아무것도 저장하지 않는다")
+    public void createEvents_Bad_Request_Null_Item() throws Exception {
+        //Given
+        String content = "[" + this.objectMapper.writeValueAsString(generatedEventDto(0)) + ",null]";
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer" + getAccessToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("length()").value(1))
+                .andExpect(jsonPath("[0].index").value(1))
+                .andExpect(jsonPath("[0].errors[0].code").value("NotNull"));
+
+        assertThat(this.eventRepository.count()).isZero();
+    }
+
+    @Test
+    @Description("전체 이벤트를 id 순서의 NDJSON 으로 내보내고, 엔티티는 하나도 로딩하지 않는다")
+    public void exportEvents() throws Exception {
+        //Given
+        IntStream.range(0, 100).forEach(this::generatedEvent);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, EventController.NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        //Then
+        String[] lines = body.split("\n");
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(100);
+        int previousId = 0;
+        for (String line : lines) {
+            JsonNode event = this.objectMapper.readTree(line);
+            assertThat(event.get("id").asInt()).isGreaterThan(previousId);
+            assertThat(event.get("name").asText()).isEqualTo("Spring");
+            assertThat(event.has("_links")).isFalse();
+            previousId = event.get("id").asInt();
+        }
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @Description("NDJSON 으로 이벤트를 가져오고 처리 결과를 돌려준다")
+    public void importEvents() throws Exception {
+        //Given
+        EventDto wrongPrices = generatedEventDto(1);
+        wrongPrices.setBasePrice(10000);
+        String ndjson = this.objectMapper.writeValueAsString(generatedEventDto(0)) + "\n"
+                + this.objectMapper.writeValueAsString(wrongPrices) + "\n"
+                + this.objectMapper.writeValueAsString(generatedEventDto(2)) + "\n";
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/import")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer" + getAccessToken())
+                .contentType(EventController.NDJSON_VALUE)
+                .content(ndjson))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("read").value(3))
+                .andExpect(jsonPath("imported").value(2))
+                .andExpect(jsonPath("rejected").value(1))
+                .andExpect(jsonPath("completed").value(true))
+                .andExpect(jsonPath("errors[0].index").value(1))
+                .andExpect(jsonPath("errors[0].errors[0].field").value("basePrice"));
+
+        // 토큰의 계정이 가져온 이벤트의 관리자가 된다
+        Integer managerId = this.accountRepository.findByEmail(appProperties.getUserUsername()).get().getId();
+        assertThat(this.eventRepository.findAll())
+                .hasSize(2)
+                .allMatch(event -> managerId.equals(event.getManager().getId()));
+    }
+
+    private String cursorOf(String body, String rel) throws Exception {
+        JsonNode href = this.objectMapper.readTree(body).path("_links").path(rel).path("href");
+        if (href.isMissingNode()) {
+            return null;
+        }
+        return UriComponentsBuilder.fromUriString(href.asText()).build().getQueryParams().getFirst("cursor");
+    }
+
     @Test
     @Description("기존의 이벤트를 하나 조회")
     public void getEvent() throws Exception {
@@ -372,6 +851,70 @@ public class EventControllerTest extends BaseControllerTest {
 
 
 
+    @Test
+    @Description("바꿀 필드만 보내서 이벤트를 부분 수정")
+    public void patchEvent() throws Exception {
+        String accessToken = getAccessToken();
+        Event event = this.generatedEvent(200);
+        event.setManager(this.accountRepository.findByEmail(appProperties.getUserUsername()).get());
+        event = this.eventRepository.save(event);
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer" + accessToken)
+                .header(HttpHeaders.IF_MATCH, "\"" + event.getVersion() + "\"")
+                .contentType(EventController.MERGE_PATCH_VALUE)
+                .content("{\"eventStatus\":\"PUBLISHED\",\"basePrice\":0,\"maxPrice\":0}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (event.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("eventStatus").value("PUBLISHED"))
+                .andExpect(jsonPath("free").value(true))
+                .andExpect(jsonPath("name").value("Spring"))
+                .andExpect(jsonPath("_links.profile").exists());
+
+        Event patched = this.eventRepository.findById(event.getId()).get();
+        assertThat(patched.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(patched.getBasePrice()).isZero();
+        assertThat(patched.isFree()).isTrue();
+        assertThat(patched.getName()).isEqualTo("Spring");
+        assertThat(patched.getVersion()).isEqualTo(event.getVersion() + 1);
+    }
+
+    @Test
+    @Description("If-Match 에 약한 ETag 를 주면 버전이 같아도 부분 수정하지 않고 412")
+    public void patchEvent412_WeakETag() throws Exception {
+        String accessToken = getAccessToken();
+        Event event = this.generatedEvent(200);
+        event.setManager(this.accountRepository.findByEmail(appProperties.getUserUsername()).get());
+        event = this.eventRepository.save(event);
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer" + accessToken)
+                .header(HttpHeaders.IF_MATCH, "W/\"" + event.getVersion() + "\"")
+                .contentType(EventController.MERGE_PATCH_VALUE)
+                .content("{\"name\":\"Updated Event\"}"))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getVersion() + "\""));
+
+        Event saved = this.eventRepository.findById(event.getId()).get();
+        assertThat(saved.getName()).isEqualTo("Spring");
+        assertThat(saved.getVersion()).isEqualTo(event.getVersion());
+    }
+
+    @Test
+    @Description("로그인하지 않은 사용자의 부분 수정 실패")
+    public void patchEvent401() throws Exception {
+        Event event = this.generatedEvent(200);
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .contentType(EventController.MERGE_PATCH_VALUE)
+                .content("{\"name\":\"Updated Event\"}"))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(this.eventRepository.findById(event.getId()).get().getName()).isEqualTo("Spring");
+    }
+
     private Event generatedEvent(int index) {
         Event event = Event.builder()
                 .name("Spring")
@@ -394,4 +937,19 @@ public class EventControllerTest extends BaseControllerTest {
 
 
     }
-}
\ No newline at end of file
+
+    private EventDto generatedEventDto(int index) {
+        return EventDto.builder()
+                .name("event " + index)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .endEventDateTime(LocalDateTime.of(2020, 10, 31, 17, 58))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("삼육대학교")
+                .build();
+    }
+}
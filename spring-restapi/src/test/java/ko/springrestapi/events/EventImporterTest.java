@@ -0,0 +1,101 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Description;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EventImporterTest {
+
+    @Autowired
+    EventImporter eventImporter;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+    }
+
+    @Test
+    @Description("청크 크기보다 많은 줄을 가져오면서 잘못된 항목만 건너뛴다")
+    public void importFrom() throws Exception {
+        //Given
+        StringBuilder ndjson = new StringBuilder();
+        int lines = EventImporter.CHUNK_SIZE * 2 + 10;
+        for (int i = 0; i < lines; i++) {
+            EventDto eventDto = eventDto(i);
+            if (i == 3 || i == 700) {
+                eventDto.setBasePrice(10000);
+            }
+            ndjson.append(objectMapper.writeValueAsString(eventDto)).append('\n');
+        }
+
+        //When
+        EventImportResult result = eventImporter.importFrom(toStream(ndjson.toString()), null);
+
+        //Then
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getRead()).isEqualTo(lines);
+        assertThat(result.getImported()).isEqualTo(lines - 2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(EventBatchError::getIndex).containsExactly(3L, 700L);
+        assertThat(eventRepository.count()).isEqualTo(lines - 2);
+    }
+
+    @Test
+    @Description("JSON 이 깨진 줄에서 멈추고, 그 앞까지는 저장한다")
+    public void importFrom_Malformed() throws Exception {
+        //Given
+        String ndjson = objectMapper.writeValueAsString(eventDto(0)) + "\n"
+                + objectMapper.writeValueAsString(eventDto(1)) + "\n"
+                + "{\"name\": \n"
+                + objectMapper.writeValueAsString(eventDto(3)) + "\n";
+
+        //When
+        EventImportResult result = eventImporter.importFrom(toStream(ndjson), null);
+
+        //Then
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.getFailure()).startsWith("Line 4");
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(eventRepository.count()).isEqualTo(2);
+    }
+
+    private ByteArrayInputStream toStream(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private EventDto eventDto(int index) {
+        return EventDto.builder()
+                .name("event " + index)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .endEventDateTime(LocalDateTime.of(2020, 10, 31, 17, 58))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("삼육대학교")
+                .build();
+    }
+}
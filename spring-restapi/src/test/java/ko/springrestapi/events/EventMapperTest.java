@@ -0,0 +1,84 @@
+package ko.springrestapi.events;
+
+import org.junit.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventMapperTest {
+
+    private final EventMapper eventMapper = new EventMapper();
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    public void toEvent() {
+        //Given
+        EventDto eventDto = eventDto();
+
+        //When
+        Event event = eventMapper.toEvent(eventDto);
+
+        //Then
+        assertThat(event).usingRecursiveComparison()
+                .isEqualTo(modelMapper.map(eventDto, Event.class));
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.DRAFT);
+    }
+
+    @Test
+    public void update() {
+        //Given
+        EventDto eventDto = eventDto();
+        Event expected = existingEvent();
+        modelMapper.map(eventDto, expected);
+
+        //When
+        Event event = existingEvent();
+        eventMapper.update(eventDto, event);
+
+        //Then
+        assertThat(event).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(event.getId()).isEqualTo(10);
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+    }
+
+    @Test
+    public void toDto() {
+        //Given
+        EventDto eventDto = eventDto();
+
+        //When
+        EventDto mapped = eventMapper.toDto(eventMapper.toEvent(eventDto));
+
+        //Then
+        assertThat(mapped).isEqualTo(eventDto);
+        assertThat(mapped).isEqualTo(modelMapper.map(eventMapper.toEvent(eventDto), EventDto.class));
+    }
+
+    private Event existingEvent() {
+        return Event.builder()
+                .id(10)
+                .version(3L)
+                .name("Old")
+                .free(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+    }
+
+    private EventDto eventDto() {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .endEventDateTime(LocalDateTime.of(2020, 10, 31, 17, 58))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("삼육대학교")
+                .build();
+    }
+}
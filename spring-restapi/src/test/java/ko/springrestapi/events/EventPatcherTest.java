@@ -0,0 +1,211 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.AccountRepository;
+import ko.springrestapi.accounts.AccountRole;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.OutputCaptureRule;
+import org.springframework.context.annotation.Description;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EventPatcherTest {
+
+    @Rule
+    public OutputCaptureRule output = new OutputCaptureRule();
+
+    @Autowired
+    EventPatcher eventPatcher;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    Account manager;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.manager = this.accountRepository.save(Account.builder()
+                .email("patch-" + System.nanoTime() + "@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+    }
+
+    @Test
+    @Description("상태만 바꾸면 상태와 버전 컬럼만 UPDATE 한다")
+    public void apply_updatesOnlyChangedColumns() throws Exception {
+        //Given
+        Event event = generateEvent();
+        Errors errors = errors();
+
+        //When
+        Set<String> changed = this.eventPatcher.apply(patch("{\"eventStatus\":\"DRAFT\",\"name\":\"Spring\"}"),
+                event, errors);
+        this.eventRepository.save(event);
+
+        //Then
+        assertThat(errors.hasErrors()).isFalse();
+        assertThat(changed).containsExactly("eventStatus");
+        String captured = output.getOut();
+        String update = captured.substring(captured.lastIndexOf("update"));
+        update = update.substring(0, update.indexOf("where"));
+        assertThat(update).contains("event_status=?", "version=?");
+        assertThat(update).doesNotContain("name=?", "description=?", "free=?", "base_price=?");
+
+        Event saved = this.eventRepository.findById(event.getId()).get();
+        assertThat(saved.getEventStatus()).isEqualTo(EventStatus.DRAFT);
+        assertThat(saved.getName()).isEqualTo("Spring");
+        assertThat(saved.isOffline()).isTrue();
+    }
+
+    @Test
+    @Description("DRAFT ↔ PUBLISHED 는 바꿀 수 있다")
+    public void apply_manualStatusTransitions() throws Exception {
+        //Given
+        Event event = generateEvent();
+
+        //When & Then
+        Errors errors = errors();
+        assertThat(this.eventPatcher.apply(patch("{\"eventStatus\":\"DRAFT\"}"), event, errors))
+                .containsExactly("eventStatus");
+        assertThat(errors.hasErrors()).isFalse();
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.DRAFT);
+
+        errors = errors();
+        assertThat(this.eventPatcher.apply(patch("{\"eventStatus\":\"PUBLISHED\"}"), event, errors))
+                .containsExactly("eventStatus");
+        assertThat(errors.hasErrors()).isFalse();
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+    }
+
+    @Test
+    @Description("BEGAN_ENROLLMENT 로 가거나 거기서 나오는 상태 변경은 필드 에러가 되고 이벤트를 건드리지 않는다")
+    public void apply_rejectedStatusTransitions() throws Exception {
+        //Given
+        Event event = generateEvent();
+
+        //When & Then PUBLISHED → BEGAN_ENROLLMENT
+        Errors errors = errors();
+        assertThat(this.eventPatcher.apply(patch("{\"eventStatus\":\"BEGAN_ENROLLMENT\",\"name\":\"JPA\"}"),
+                event, errors)).isEmpty();
+        assertThat(errors.getFieldError("eventStatus").getCode()).isEqualTo("wrongTransition");
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(event.getName()).isEqualTo("Spring");
+
+        //When & Then DRAFT → BEGAN_ENROLLMENT
+        event.setEventStatus(EventStatus.DRAFT);
+        errors = errors();
+        assertThat(this.eventPatcher.apply(patch("{\"eventStatus\":\"BEGAN_ENROLLMENT\"}"), event, errors)).isEmpty();
+        assertThat(errors.getFieldError("eventStatus").getCode()).isEqualTo("wrongTransition");
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.DRAFT);
+
+        //When & Then BEGAN_ENROLLMENT → PUBLISHED, DRAFT
+        event.setEventStatus(EventStatus.BEGAN_ENROLLMENT);
+        for (String status : new String[]{"PUBLISHED", "DRAFT"}) {
+            errors = errors();
+            assertThat(this.eventPatcher.apply(patch("{\"eventStatus\":\"" + status + "\"}"), event, errors)).isEmpty();
+            assertThat(errors.getFieldError("eventStatus").getCode()).isEqualTo("wrongTransition");
+            assertThat(event.getEventStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        }
+    }
+
+    @Test
+    @Description("가격을 바꾸면 가격 규칙을 검사하고 free 를 다시 계산한다")
+    public void apply_prices() throws Exception {
+        //Given
+        Event event = generateEvent();
+
+        //When & Then 최대 가격이 기본 가격보다 작으면 이벤트를 건드리지 않는다
+        Errors errors = errors();
+        assertThat(this.eventPatcher.apply(patch("{\"maxPrice\":50}"), event, errors)).isEmpty();
+        assertThat(errors.getFieldError("maxPrice").getCode()).isEqualTo("wrongValue");
+        assertThat(event.getMaxPrice()).isEqualTo(200);
+
+        errors = errors();
+        assertThat(this.eventPatcher.apply(patch("{\"basePrice\":0,\"maxPrice\":0}"), event, errors))
+                .containsExactly("basePrice", "maxPrice");
+        assertThat(errors.hasErrors()).isFalse();
+        assertThat(event.isFree()).isTrue();
+    }
+
+    @Test
+    @Description("모르는 속성, 기본형에 null, 타입이 틀린 값, 바뀐 필드의 제약 위반은 400 으로 돌려줄 에러가 된다")
+    public void apply_errors() throws Exception {
+        //Given
+        Event event = generateEvent();
+        Errors errors = errors();
+
+        //When
+        Set<String> changed = this.eventPatcher.apply(patch("{\"id\":3,\"basePrice\":null,\"limitOfEnrollment\":\"many\"," +
+                "\"eventStatus\":\"UNKNOWN\"}"), event, errors);
+
+        //Then
+        assertThat(changed).isEmpty();
+        assertThat(errors.getFieldError("id").getCode()).isEqualTo("unknownProperty");
+        assertThat(errors.getFieldError("basePrice").getCode()).isEqualTo("NotNull");
+        assertThat(errors.getFieldError("limitOfEnrollment").getCode()).isEqualTo("typeMismatch");
+        assertThat(errors.getFieldError("eventStatus").getCode()).isEqualTo("typeMismatch");
+
+        errors = errors();
+        assertThat(this.eventPatcher.apply(patch("{\"name\":null,\"endEventDateTime\":\"2020-10-01T00:00:00\"}"),
+                event, errors)).isEmpty();
+        assertThat(errors.getFieldError("name").getCode()).isEqualTo("NotNull");
+        assertThat(errors.getFieldError("endEventDateTime").getCode()).isEqualTo("wrongValue");
+        assertThat(event.getName()).isEqualTo("Spring");
+
+        errors = errors();
+        this.eventPatcher.apply(patch("[]"), event, errors);
+        assertThat(errors.getGlobalError().getCode()).isEqualTo("notAnObject");
+    }
+
+    private JsonNode patch(String json) throws Exception {
+        return this.objectMapper.readTree(json);
+    }
+
+    private Errors errors() {
+        return new MapBindingResult(new HashMap<>(), "eventDto");
+    }
+
+    private Event generateEvent() {
+        return this.eventRepository.save(Event.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .beginEventDateTime(LocalDateTime.of(2020, 10, 30, 17, 58))
+                .endEventDateTime(LocalDateTime.of(2020, 10, 31, 17, 58))
+                .location("삼육대학교")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .manager(manager)
+                .build());
+    }
+}
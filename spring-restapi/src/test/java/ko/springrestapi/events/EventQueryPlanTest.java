@@ -0,0 +1,237 @@
+package ko.springrestapi.events;
+
+import ko.springrestapi.accounts.Account;
+import ko.springrestapi.accounts.AccountRepository;
+import ko.springrestapi.accounts.AccountRole;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Description;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 목록 검색 조건과 정렬이 Event 의 인덱스를 타는지 테스트 DB (H2) 의 실행 계획으로 확인한다.
+ * findSummaries 는 {@link SqlCapture} 로 Hibernate 가 실제로 보낸 SQL 을 받아 그대로 EXPLAIN 한다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ko.springrestapi.events.EventQueryPlanTest$SqlCapture")
+@ActiveProfiles("test")
+public class EventQueryPlanTest {
+
+    private static final LocalDateTime DATE_TIME = LocalDateTime.of(2020, 11, 1, 10, 0);
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+    }
+
+    @Test
+    @Description("상태, 무료, 오프라인, 이벤트 시작 조건은 복합 인덱스를 쓴다")
+    public void plan_statusFreeOffline() {
+        String plan = explain("SELECT id FROM event WHERE event_status = 'PUBLISHED' AND free = FALSE"
+                + " AND offline = TRUE AND begin_event_date_time >= '2020-11-01 00:00:00'");
+
+        assertThat(plan).contains("IDX_EVENT_STATUS_FREE_OFFLINE_BEGIN_EVENT");
+    }
+
+    @Test
+    @Description("관리자 조건은 (관리자, 이벤트 시작) 인덱스를 쓴다")
+    public void plan_manager() {
+        String plan = explain("SELECT id FROM event WHERE manager_id = 1"
+                + " AND begin_event_date_time < '2020-12-01 00:00:00'");
+
+        assertThat(plan).contains("IDX_EVENT_MANAGER_BEGIN_EVENT");
+    }
+
+    @Test
+    @Description("상태 전환 스케줄러의 조회와 UPDATE 는 (상태, 등록 시작) 인덱스를 쓴다")
+    public void plan_statusBeginEnrollment() {
+        assertThat(explain("SELECT DISTINCT begin_enrollment_date_time FROM event WHERE event_status = 'PUBLISHED'"
+                + " AND begin_enrollment_date_time > '2020-11-01 00:00:00'"
+                + " AND begin_enrollment_date_time <= '2020-11-01 01:00:00' ORDER BY begin_enrollment_date_time"))
+                .contains("IDX_EVENT_STATUS_BEGIN_ENROLLMENT");
+        assertThat(explain("UPDATE event SET event_status = 'BEGAN_ENROLLMENT', version = version + 1"
+                + " WHERE event_status = 'PUBLISHED' AND begin_enrollment_date_time <= '2020-11-01 00:00:00'"))
+                .contains("IDX_EVENT_STATUS_BEGIN_ENROLLMENT");
+    }
+
+    @Test
+    @Description("기간 조건과 정렬은 (속성, id) 인덱스를 쓴다")
+    public void plan_rangeAndSort() {
+        assertThat(explain("SELECT id FROM event WHERE end_event_date_time >= '2020-11-01 00:00:00'"))
+                .contains("IDX_EVENT_END_EVENT");
+        assertThat(explain("SELECT id FROM event WHERE begin_enrollment_date_time < '2020-11-01 00:00:00'"))
+                .contains("IDX_EVENT_BEGIN_ENROLLMENT");
+        // H2 는 오름차순 정렬만 인덱스 순서로 읽는다. PostgreSQL 은 내림차순도 인덱스를 거꾸로 읽는다
+        assertThat(explain("SELECT id FROM event ORDER BY name, id LIMIT 10"))
+                .contains("IDX_EVENT_NAME");
+        assertThat(explain("SELECT id FROM event ORDER BY close_enrollment_date_time, id LIMIT 10"))
+                .contains("IDX_EVENT_CLOSE_ENROLLMENT");
+    }
+
+    @Test
+    @Description("검색 조건에 맞는 이벤트만 정렬해서 페이지로 준다")
+    public void findSummaries() {
+        //Given
+        Account manager = this.accountRepository.save(Account.builder()
+                .email("plan-" + System.nanoTime() + "@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        for (int i = 0; i < 10; i++) {
+            this.eventRepository.save(Event.builder()
+                    .name("event " + i)
+                    .beginEnrollmentDateTime(DATE_TIME)
+                    .closeEnrollmentDateTime(DATE_TIME)
+                    .beginEventDateTime(DATE_TIME.plusDays(i))
+                    .endEventDateTime(DATE_TIME.plusDays(i + 1))
+                    .free(i % 2 == 0)
+                    .offline(true)
+                    .eventStatus(i < 6 ? EventStatus.PUBLISHED : EventStatus.DRAFT)
+                    .manager(i < 3 ? manager : null)
+                    .build());
+        }
+        EventFilter filter = new EventFilter();
+        filter.setEventStatus(EventStatus.PUBLISHED);
+        filter.setFree(true);
+        filter.setBeginEventFrom(DATE_TIME.plusDays(1));
+
+        //When
+        Page<EventSummary> page = this.eventRepository.findSummaries(filter,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "beginEventDateTime")));
+
+        //Then 2, 4
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(EventSummary::getName).containsExactly("event 4");
+
+        //When 관리자
+        EventFilter byManager = new EventFilter();
+        byManager.setManager(manager.getId());
+        byManager.setBeginEventTo(DATE_TIME.plusDays(2));
+        Page<EventSummary> managed = this.eventRepository.findSummaries(byManager, PageRequest.of(0, 10));
+
+        //Then 0, 1 (To 는 미만)
+        assertThat(managed.getContent()).extracting(EventSummary::getName).containsExactly("event 0", "event 1");
+        assertThat(managed.getContent()).extracting(e -> e.getManager().getId())
+                .containsOnly(manager.getId());
+    }
+
+    @Test
+    @Description("findSummaries 가 만든 목록 SQL 과 count SQL 도 같은 인덱스를 쓴다")
+    public void plan_findSummaries() {
+        //Given
+        EventFilter filter = new EventFilter();
+        filter.setEventStatus(EventStatus.PUBLISHED);
+        filter.setFree(true);
+        filter.setOffline(true);
+        filter.setBeginEventFrom(DATE_TIME);
+
+        //When 빈 두 번째 페이지라 count 도 보낸다
+        List<String> statements = captureSql(() -> this.eventRepository.findSummaries(filter,
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "beginEventDateTime"))));
+
+        //Then
+        assertThat(statements).hasSize(2);
+        String list = statements.get(0);
+        assertThat(list).contains("left outer join account");
+        assertThat(list).containsPattern("order by \\w+\\.begin_event_date_time desc, \\w+\\.id desc");
+        assertThat(explainPrepared(list)).contains("IDX_EVENT_STATUS_FREE_OFFLINE_BEGIN_EVENT");
+        String count = statements.get(1);
+        assertThat(count).startsWith("select count(").doesNotContain("join");
+        assertThat(explainPrepared(count)).contains("IDX_EVENT_STATUS_FREE_OFFLINE_BEGIN_EVENT");
+
+        //When 관리자
+        EventFilter byManager = new EventFilter();
+        byManager.setManager(1);
+        byManager.setBeginEventTo(DATE_TIME);
+        statements = captureSql(() -> this.eventRepository.findSummaries(byManager, PageRequest.of(1, 10)));
+
+        //Then
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0)).containsPattern("order by \\w+\\.id asc");
+        assertThat(explainPrepared(statements.get(0))).contains("IDX_EVENT_MANAGER_BEGIN_EVENT");
+        assertThat(explainPrepared(statements.get(1))).contains("IDX_EVENT_MANAGER_BEGIN_EVENT");
+    }
+
+    @Test
+    @Description("인덱스가 없는 속성으로는 정렬하지 않는다")
+    public void findSummaries_unsupportedSort() {
+        EventFilter filter = new EventFilter();
+        filter.setFree(true);
+
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> this.eventRepository.findSummaries(filter,
+                PageRequest.of(0, 10, Sort.by("location"))));
+    }
+
+    private String explain(String sql) {
+        return this.jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private List<String> captureSql(Runnable query) {
+        SqlCapture.clear();
+        query.run();
+        return SqlCapture.statements();
+    }
+
+    /**
+     * Hibernate 가 만든 SQL 은 값이 ? 로 빠져 있다. H2 는 PREPARE 할 때 계획을 세우므로 값은 null 로 채워도 계획은 같다.
+     */
+    private String explainPrepared(String sql) {
+        return this.jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setNull(i, Types.NULL);
+            }
+        }, (rs, rowNum) -> rs.getString(1)).get(0);
+    }
+
+    /**
+     * Hibernate 가 JDBC 로 보내는 SQL 을 모은다. hibernate.session_factory.statement_inspector 로 등록한다.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static List<String> statements() {
+            return new ArrayList<>(STATEMENTS);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
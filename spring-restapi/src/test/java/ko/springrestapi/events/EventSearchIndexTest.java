@@ -0,0 +1,110 @@
+package ko.springrestapi.events;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventSearchIndexTest {
+
+    private EventSearchIndex eventSearchIndex;
+
+    @Before
+    public void setUp() {
+        eventSearchIndex = new EventSearchIndex(null);
+    }
+
+    @Test
+    @Description("이름에 나온 단어와 드문 단어가 더 높은 점수를 받는다")
+    public void search_ranked() {
+        //Given
+        eventSearchIndex.index(List.of(
+                event(1, "Spring Boot", "REST API Development"),
+                event(2, "JPA", "Spring Data JPA 와 REST"),
+                event(3, "Spring REST Docs", "문서 자동화"),
+                event(4, "Kotlin", "코루틴 입문")));
+
+        //When
+        Page<Integer> page = eventSearchIndex.search("rest, SPRING", PageRequest.of(0, 10));
+
+        //Then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).containsExactly(3, 1, 2);
+        assertThat(eventSearchIndex.search("코루틴", PageRequest.of(0, 10)).getContent()).containsExactly(4);
+        assertThat(eventSearchIndex.search("없는단어 !!", PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
+    @Test
+    @Description("점수 순으로 자른 페이지와 전체 개수를 준다")
+    public void search_paged() {
+        //Given 같은 점수면 먼저 색인된 이벤트가 앞
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            events.add(event(i, "event " + i, "spring"));
+        }
+        eventSearchIndex.index(events);
+
+        //When
+        Page<Integer> page = eventSearchIndex.search("spring", PageRequest.of(2, 10));
+
+        //Then
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getContent()).containsExactly(21, 22, 23, 24, 25);
+    }
+
+    @Test
+    @Description("이벤트를 고치면 예전 이름과 설명으로는 더 이상 찾지 않는다")
+    public void index_update() {
+        //Given
+        eventSearchIndex.index(event(1, "Spring", "REST"));
+        eventSearchIndex.index(event(2, "Spring", "JPA"));
+
+        //When
+        eventSearchIndex.index(event(1, "Kotlin", "REST"));
+
+        //Then
+        assertThat(eventSearchIndex.size()).isEqualTo(2);
+        assertThat(eventSearchIndex.search("spring", PageRequest.of(0, 10)).getContent()).containsExactly(2);
+        assertThat(eventSearchIndex.search("kotlin rest", PageRequest.of(0, 10)).getContent()).containsExactly(1);
+    }
+
+    @Test
+    @Description("지운 문서가 많아져서 정리한 뒤에도 결과가 같다")
+    public void index_compact() {
+        //Given
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            events.add(event(i, "event " + i, i % 2 == 0 ? "even" : "odd"));
+        }
+        eventSearchIndex.index(events);
+
+        //When 짝수 이벤트를 여러 번 고쳐서 지운 번호를 살아 있는 번호보다 많이 만든다
+        for (int round = 0; round < 3; round++) {
+            List<Event> updated = new ArrayList<>();
+            for (int i = 2; i <= 2000; i += 2) {
+                updated.add(event(i, "event " + i, "even round" + round));
+            }
+            eventSearchIndex.index(updated);
+        }
+
+        //Then
+        assertThat(eventSearchIndex.size()).isEqualTo(2000);
+        assertThat(eventSearchIndex.search("even", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1000);
+        assertThat(eventSearchIndex.search("round0", PageRequest.of(0, 10)).getTotalElements()).isZero();
+        assertThat(eventSearchIndex.search("round2", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1000);
+        assertThat(eventSearchIndex.search("odd", PageRequest.of(0, 10)).getContent())
+                .containsExactly(1, 3, 5, 7, 9, 11, 13, 15, 17, 19);
+        assertThat(eventSearchIndex.search("1999", PageRequest.of(0, 10)).getContent()).containsExactly(1999);
+        assertThat(eventSearchIndex.search("2000", PageRequest.of(0, 10)).getContent()).containsExactly(2000);
+    }
+
+    private Event event(int id, String name, String description) {
+        return Event.builder().id(id).name(name).description(description).build();
+    }
+}
@@ -0,0 +1,167 @@
+package ko.springrestapi.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ko.springrestapi.accounts.Account;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EventResource, EventSummaryPage 직렬화가 HAL 모듈 기본 직렬화와 바이트 단위로 같은지 확인한다.
+ * golden 디렉터리의 파일은 직접 만든 serializer 를 넣기 전에 같은 객체를 HAL 컨버터로 쓴 결과다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EventSerializerGoldenTest {
+
+    private static final LocalDateTime DATE_TIME = LocalDateTime.of(2020, 10, 30, 17, 58);
+
+    @Autowired
+    RequestMappingHandlerAdapter handlerAdapter;
+
+    ObjectMapper halObjectMapper;
+
+    @Before
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setQueryString("page=1&size=2&sort=name,DESC");
+        request.setParameter("page", "1");
+        request.setParameter("size", "2");
+        request.setParameter("sort", "name,DESC");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // 실제 응답을 쓰는 HAL 컨버터의 ObjectMapper
+        for (HttpMessageConverter<?> converter : handlerAdapter.getMessageConverters()) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter
+                    && converter.getSupportedMediaTypes().contains(MediaTypes.HAL_JSON)) {
+                halObjectMapper = ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper();
+                break;
+            }
+        }
+        assertThat(halObjectMapper).isNotNull();
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void serializersRegistered() throws Exception {
+        assertThat(halObjectMapper.getSerializerProviderInstance().findValueSerializer(EventResource.class))
+                .isInstanceOf(EventResourceSerializer.class);
+        assertThat(halObjectMapper.getSerializerProviderInstance().findValueSerializer(EventSummaryPage.class))
+                .isInstanceOf(EventSummaryPageSerializer.class);
+    }
+
+    @Test
+    public void eventResource() throws Exception {
+        Event event = Event.builder()
+                .id(7)
+                .name("Spring \"REST\"")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(DATE_TIME)
+                .closeEnrollmentDateTime(DATE_TIME.plusDays(1).withSecond(30))
+                .beginEventDateTime(DATE_TIME.plusDays(2))
+                .endEventDateTime(DATE_TIME.plusDays(3).withNano(5000))
+                .location("삼육대학교")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .manager(Account.builder().id(3).email("a@b.c").build())
+                .build();
+        EventResource resource = new EventResource(event);
+        resource.add(Link.of("http://localhost/api/events", "query-events"));
+        resource.add(Link.of("http://localhost/api/events/7", "update-event"));
+        resource.add(Link.of("/docs/index.html#resources-events-create", "profile"));
+
+        assertThat(json(resource)).isEqualTo(golden("event-resource.json"));
+        assertThat(json(resource)).isEqualTo(json(EntityModel.of(event, resource.getLinks())));
+    }
+
+    @Test
+    public void eventResource_nullsAndLinkVariants() throws Exception {
+        Event event = Event.builder().id(8).eventStatus(null).build();
+        EventResource resource = new EventResource(event);
+        resource.add(Link.of("http://localhost/api/events{?page,size}", "search"));
+        resource.add(Link.of("http://localhost/api/events/1", "item"));
+        resource.add(Link.of("http://localhost/api/events/2", "item").withTitle("second"));
+
+        assertThat(json(resource)).isEqualTo(golden("event-resource-nulls.json"));
+        assertThat(json(resource)).isEqualTo(json(EntityModel.of(event, resource.getLinks())));
+    }
+
+    @Test
+    public void eventSummaryPage() throws Exception {
+        List<EventSummary> content = List.of(
+                new EventSummary(11, 0L, "event 11", "test\nevent", DATE_TIME, DATE_TIME, DATE_TIME,
+                        DATE_TIME.plusDays(1), "삼육대학교", 100, 200, 100, false, true, EventStatus.DRAFT, 1),
+                new EventSummary(12, 3L, "event 12", null, null, null, null, null, null,
+                        0, 0, 0, true, false, null, null));
+        PagedModel<EventSummaryResource> model = toModel(new PageImpl<>(content,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "name")), 7));
+        model.add(Link.of("/docs/index.html#resoucres-events-list", "profile"));
+        model.add(Link.of("http://localhost/api/events", "create-event"));
+
+        assertThat(json(EventSummaryPage.of(model))).isEqualTo(golden("event-summary-page.json"));
+        // PagedModel 은 여전히 HAL 모듈이 쓴다
+        assertThat(json(EventSummaryPage.of(model))).isEqualTo(json(model));
+    }
+
+    @Test
+    public void eventSummaryPage_empty() throws Exception {
+        PagedModel<EventSummaryResource> model = toModel(new PageImpl<>(List.of(), PageRequest.of(0, 2), 0));
+
+        assertThat(json(EventSummaryPage.of(model))).isEqualTo(json(model));
+    }
+
+    private PagedModel<EventSummaryResource> toModel(Page<EventSummary> page) {
+        PagedResourcesAssembler<EventSummary> assembler =
+                new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+        return assembler.toModel(page, EventSummaryResource::new);
+    }
+
+    private String json(Object value) throws Exception {
+        return new String(halObjectMapper.writeValueAsBytes(value), StandardCharsets.UTF_8);
+    }
+
+    private String golden(String name) throws Exception {
+        try (InputStream in = new ClassPathResource("golden/" + name).getInputStream()) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ko.springrestapi.events;
+
+import ko.springrestapi.common.Lease;
+import ko.springrestapi.common.LeaseRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Description;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EventStatusSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    LeaseRepository leaseRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private final MutableClock clock = new MutableClock();
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.leaseRepository.deleteAll();
+    }
+
+    @Test
+    @Description("등록 시작 시각이 된 공개 이벤트만 BEGAN_ENROLLMENT 로 바꾸고 버전을 올린다")
+    public void runDue() {
+        //Given
+        Event past = generateEvent(EventStatus.PUBLISHED, NOW.minusMinutes(1));
+        Event soon = generateEvent(EventStatus.PUBLISHED, NOW.plusSeconds(10));
+        Event sameTime = generateEvent(EventStatus.PUBLISHED, NOW.plusSeconds(10));
+        Event draft = generateEvent(EventStatus.DRAFT, NOW.minusMinutes(1));
+        Event later = generateEvent(EventStatus.PUBLISHED, NOW.plusHours(2));
+        EventStatusScheduler scheduler = scheduler("node-a");
+
+        //When & Then 처음 돌 때 지난 이벤트를 바꾸고, 한 시간 안의 시각 하나만 휠에 넣는다
+        assertThat(scheduler.runDue()).isEqualTo(1);
+        assertThat(scheduler.scheduled()).isEqualTo(1);
+        assertThat(status(past)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(status(soon)).isEqualTo(EventStatus.PUBLISHED);
+
+        clock.plusSeconds(5);
+        assertThat(scheduler.runDue()).isZero();
+
+        clock.plusSeconds(5);
+        assertThat(scheduler.runDue()).isEqualTo(2);
+        assertThat(status(soon)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(status(sameTime)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(this.eventRepository.findById(soon.getId()).get().getVersion()).isEqualTo(soon.getVersion() + 1);
+        assertThat(status(draft)).isEqualTo(EventStatus.DRAFT);
+        assertThat(status(later)).isEqualTo(EventStatus.PUBLISHED);
+
+        //When & Then 창이 앞으로 가면 나머지 시각을 이어서 읽는다
+        clock.plusSeconds(2 * 60 * 60);
+        assertThat(scheduler.runDue()).isEqualTo(1);
+        assertThat(status(later)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    @Test
+    @Description("임대를 가진 노드 하나만 일하고, 임대가 만료되거나 풀리면 다른 노드가 이어받는다")
+    public void runDue_lease() {
+        //Given
+        EventStatusScheduler nodeA = scheduler("node-a");
+        EventStatusScheduler nodeB = scheduler("node-b");
+        nodeA.runDue();
+        Event event = generateEvent(EventStatus.PUBLISHED, NOW.minusMinutes(1));
+
+        //When & Then
+        assertThat(nodeB.runDue()).isZero();
+        assertThat(nodeB.isLeader()).isFalse();
+        assertThat(status(event)).isEqualTo(EventStatus.PUBLISHED);
+
+        clock.plusSeconds(EventStatusScheduler.LEASE_DURATION.getSeconds() + 1);
+        assertThat(nodeB.runDue()).isEqualTo(1);
+        assertThat(nodeB.isLeader()).isTrue();
+        assertThat(nodeA.runDue()).isZero();
+        assertThat(nodeA.isLeader()).isFalse();
+
+        nodeB.release();
+        assertThat(nodeA.runDue()).isZero();
+        assertThat(nodeA.isLeader()).isTrue();
+    }
+
+    @Test
+    @Description("바꿀 이벤트가 없으면 2차 캐시를 건드리지 않고, 바꾼 이벤트만 캐시에서 지운다")
+    public void runDue_secondLevelCache() {
+        //Given
+        Event draft = generateEvent(EventStatus.DRAFT, NOW.minusMinutes(1));
+        Event soon = generateEvent(EventStatus.PUBLISHED, NOW.plusSeconds(10));
+        EventStatusScheduler scheduler = scheduler("node-a");
+        Cache cache = this.entityManagerFactory.getCache();
+        status(draft);
+        status(soon);
+
+        //When & Then 휠을 채우는 첫 tick 에는 바꿀 이벤트가 없다
+        assertThat(scheduler.runDue()).isZero();
+        assertThat(cache.contains(Event.class, draft.getId())).isTrue();
+        assertThat(cache.contains(Event.class, soon.getId())).isTrue();
+
+        clock.plusSeconds(10);
+        assertThat(scheduler.runDue()).isEqualTo(1);
+        assertThat(cache.contains(Event.class, draft.getId())).isTrue();
+        assertThat(cache.contains(Event.class, soon.getId())).isFalse();
+        assertThat(status(soon)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    @Test
+    @Description("임대 행을 동시에 만들면 먼저 만든 노드의 행이 남고 나중 노드는 실패한다")
+    public void insertLease() {
+        //Given
+        this.leaseRepository.insert(new Lease(EventStatusScheduler.LEASE_NAME, "node-a", NOW.plusSeconds(30)));
+
+        //When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> this.leaseRepository.insert(
+                new Lease(EventStatusScheduler.LEASE_NAME, "node-b", NOW.plusSeconds(30))));
+        assertThat(this.leaseRepository.findById(EventStatusScheduler.LEASE_NAME).get().getOwner()).isEqualTo("node-a");
+    }
+
+    private EventStatusScheduler scheduler(String owner) {
+        return new EventStatusScheduler(this.eventRepository, this.leaseRepository, owner, clock);
+    }
+
+    private EventStatus status(Event event) {
+        return this.eventRepository.findById(event.getId()).get().getEventStatus();
+    }
+
+    private Event generateEvent(EventStatus eventStatus, LocalDateTime beginEnrollmentDateTime) {
+        return this.eventRepository.save(Event.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(beginEnrollmentDateTime)
+                .closeEnrollmentDateTime(beginEnrollmentDateTime.plusDays(1))
+                .beginEventDateTime(beginEnrollmentDateTime.plusDays(2))
+                .endEventDateTime(beginEnrollmentDateTime.plusDays(3))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .eventStatus(eventStatus)
+                .build());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = NOW.toInstant(ZoneOffset.UTC);
+
+        void plusSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}